@@ -1,8 +1,9 @@
 package problem.day01;
 
 import tools.InputFile;
-import tools.IntegerOrEmpty;
 import tools.Logger;
+import tools.ReadMode;
+import tools.SnapshotCodec;
 
 /**
  * Solution for the problem of Day 01
@@ -12,53 +13,31 @@ import tools.Logger;
  * Chunks are split by an empty line.
  */
 public class Solver {
-  private InputFile inputFile;
-
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Starting...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    inputFile = new InputFile("problem01.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem01.input", ReadMode.MEMORY_MAPPED);
     if (!inputFile.exists()) {
       return;
     }
 
     TopValues topCalories = new TopValues(3);
-    Long calories = getCaloriesForNextElf();
-
-    while (calories != null) {
+    long[] caloriesPerElf = inputFile.readWithSnapshot("calories", SnapshotCodec.LONG_ARRAY,
+        InputFile::readAllGroupSums);
+    for (long calories : caloriesPerElf) {
       topCalories.addIfHighest(calories);
-      calories = getCaloriesForNextElf();
     }
 
     Logger.info("Top calories: " + topCalories.toString());
     Logger.info("Together that is " + topCalories.sum() + " calories");
   }
-
-  /**
-   * Read the next chunk of numbers (calories for the next elf), sum up the values.
-   *
-   * @return The sum of calories for the next elf or null if end-of-file is reached
-   */
-  private Long getCaloriesForNextElf() {
-    IntegerOrEmpty n = inputFile.readLineAsInteger();
-    if (inputFile.isEndOfFile()) {
-      return null;
-    }
-
-    Long sum = 0L;
-    while (n.isNumber()) {
-      sum += n.getValue();
-      n = inputFile.readLineAsInteger();
-    }
-    return sum;
-  }
 }
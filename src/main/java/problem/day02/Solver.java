@@ -3,6 +3,7 @@ package problem.day02;
 
 import tools.InputFile;
 import tools.Logger;
+import tools.ReadMode;
 
 /**
  * Solution for the problem of Day 02
@@ -13,28 +14,24 @@ public class Solver {
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 02...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem02.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem02.input", ReadMode.MEMORY_MAPPED);
     if (!inputFile.exists()) {
       Logger.info("Input file not found");
       return;
     }
 
-    int score = 0;
-    while (!inputFile.isEndOfFile()) {
-      String line = inputFile.readLine();
-      if (line != null) {
-        score += Game.parse(line).getScore();
-      }
-    }
+    int score = inputFile.parallelLines()
+        .mapToInt(line -> Game.parse(line).getScore())
+        .sum();
 
     Logger.info("Total score: " + score);
   }
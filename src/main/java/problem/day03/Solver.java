@@ -13,16 +13,16 @@ public class Solver {
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 03...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem03.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem03.input");
     if (!inputFile.exists()) {
       Logger.info("Input file not found");
       return;
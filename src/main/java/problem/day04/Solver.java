@@ -2,6 +2,7 @@ package problem.day04;
 
 import tools.InputFile;
 import tools.Logger;
+import tools.ReadMode;
 
 /**
  * Solution for the problem of Day 04
@@ -12,36 +13,34 @@ public class Solver {
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 04...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem04.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem04.input", ReadMode.MEMORY_MAPPED);
     if (!inputFile.exists()) {
       Logger.info("Input file not found");
       return;
     }
 
-    int containedIntervalCount = 0;
-    int overlappingIntervalCount = 0;
-    while (!inputFile.isEndOfFile()) {
-      String line = inputFile.readLine();
-      if (line != null) {
-        IntervalPair intervals = IntervalPair.createFromString(line);
-        if (intervals.oneContainsOther()) {
-          containedIntervalCount++;
-        }
-        if (intervals.overlap()) {
-          overlappingIntervalCount++;
-        }
-      }
-    }
+    // Both counters are summed in one parallel pass: contained pairs in the upper 32 bits,
+    // overlapping pairs in the lower 32 bits
+    long packedCounts = inputFile.parallelLines()
+        .map(IntervalPair::createFromString)
+        .mapToLong(Solver::packFlags)
+        .sum();
+    long containedIntervalCount = packedCounts >>> 32;
+    long overlappingIntervalCount = packedCounts & 0xFFFFFFFFL;
     Logger.info("Contained interval count: " + containedIntervalCount);
     Logger.info("Overlapping interval count: " + overlappingIntervalCount);
   }
+
+  private static long packFlags(IntervalPair pair) {
+    return (pair.oneContainsOther() ? 1L << 32 : 0) | (pair.overlap() ? 1 : 0);
+  }
 }
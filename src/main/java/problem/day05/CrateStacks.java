@@ -1,7 +1,7 @@
 package problem.day05;
 
-import java.util.List;
 import java.util.Stack;
+import tools.LineBlock;
 
 /**
  * Stacks of crates.
@@ -15,7 +15,7 @@ public class CrateStacks {
    * @param stackLines The lines from the input file depicting the initial configuration of the
    *                   crates in the stacks.
    */
-  public CrateStacks(List<String> stackLines) {
+  public CrateStacks(LineBlock stackLines) {
     int stackCount = getStackCountFromStrings(stackLines);
     createStacks(stackCount);
     for (int stackIndex = 0; stackIndex < stackCount; ++stackIndex) {
@@ -23,13 +23,13 @@ public class CrateStacks {
     }
   }
 
-  private void parseCratesInStack(List<String> stackLines, int stackIndex) {
-    int lineNumber = stackLines.size() - 2;
-    Character crate = getCrate(stackLines.get(lineNumber), stackIndex);
+  private void parseCratesInStack(LineBlock stackLines, int stackIndex) {
+    int lineNumber = stackLines.getLineCount() - 2;
+    Character crate = getCrate(stackLines, lineNumber, stackIndex);
     while (lineNumber > 0 && crate != null) {
       stacks[stackIndex].push(crate);
       lineNumber--;
-      crate = getCrate(stackLines.get(lineNumber), stackIndex);
+      crate = getCrate(stackLines, lineNumber, stackIndex);
     }
 
     if (crate != null) {
@@ -37,17 +37,18 @@ public class CrateStacks {
     }
   }
 
-  private Character getCrate(String stackLine, int stackIndex) {
+  private Character getCrate(LineBlock stackLines, int lineNumber, int stackIndex) {
     int charIndex = stackIndex * 4 + 1;
-    Character c = charIndex < stackLine.length() ? stackLine.charAt(charIndex) : null;
+    Character c = charIndex < stackLines.getLineLength(lineNumber)
+        ? stackLines.charAt(lineNumber, charIndex) : null;
     if (c != null && c.equals(' ')) {
       c = null;
     }
     return c;
   }
 
-  private int getStackCountFromStrings(List<String> stackLines) {
-    String lastLine = stackLines.get(stackLines.size() - 1);
+  private int getStackCountFromStrings(LineBlock stackLines) {
+    String lastLine = stackLines.getLine(stackLines.getLineCount() - 1);
     String[] stackIndices = lastLine.split(" ");
     try {
       return Integer.parseInt(stackIndices[stackIndices.length - 1]);
@@ -1,7 +1,7 @@
 package problem.day05;
 
-import java.util.List;
 import tools.InputFile;
+import tools.LineBlock;
 import tools.Logger;
 
 /**
@@ -13,22 +13,23 @@ public class Solver {
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 05...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem05.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem05.input");
     if (!inputFile.exists()) {
       Logger.info("Input file not found");
       return;
     }
+    inputFile.enableReadAhead();
 
-    List<String> stackLines = inputFile.readLinesUntilEmptyLine();
+    LineBlock stackLines = inputFile.readBlockUntilEmptyLine();
     CrateStacks stacks = new CrateStacks(stackLines);
     Logger.info("Top crates in the beginning: " + stacks.getTopCrates());
 
@@ -11,20 +11,21 @@ import tools.Logger;
 public class Solver {
   private static final int START_SIGNAL_LENGTH = 4;
   private static final int MESSAGE_START_LENGTH = 14;
+  private static final int READ_BUFFER_SIZE = 1 << 16;
 
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 06...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem06.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem06.input");
     if (!inputFile.exists()) {
       Logger.info("Input file not found");
       return;
@@ -33,14 +34,17 @@ public class Solver {
     Integer startPosition = null;
     StartSignalDetector detector = new StartSignalDetector(MESSAGE_START_LENGTH);
 
-    while (!inputFile.isEndOfFile() && startPosition == null) {
-      Character c = inputFile.readOneChar();
-      if (c != null) {
-        detector.add(c);
-      }
-      if (detector.isDetected()) {
-        startPosition = detector.getProcessedCharacterCount();
+    char[] buffer = new char[READ_BUFFER_SIZE];
+    int n = inputFile.read(buffer, 0, buffer.length);
+    while (n > 0 && startPosition == null) {
+      int i = 0;
+      while (i < n && startPosition == null) {
+        detector.add(buffer[i++]);
+        if (detector.isDetected()) {
+          startPosition = detector.getProcessedCharacterCount();
+        }
       }
+      n = inputFile.read(buffer, 0, buffer.length);
     }
 
     Logger.info("Message start after first " + startPosition + " symbols");
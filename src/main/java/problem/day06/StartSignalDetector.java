@@ -1,8 +1,5 @@
 package problem.day06;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * Consumes characters, detects start signal position (first occurrence where four characters
  * are all different).
@@ -12,7 +9,9 @@ public class StartSignalDetector {
   int processedCharCount;
   int signalLength;
 
-  final Set<Character> uniqueChars = new HashSet<>();
+  // How many times each character appears among the last signalLength characters
+  final int[] charCounts = new int[Character.MAX_VALUE + 1];
+  int uniqueCharCount;
 
   /**
    * Create a new Start-signal detector.
@@ -32,7 +31,11 @@ public class StartSignalDetector {
    */
   public void add(char c) {
     int replacementIndex = processedCharCount % signalLength;
+    if (processedCharCount >= signalLength) {
+      forget(characters[replacementIndex]);
+    }
     characters[replacementIndex] = c;
+    remember(c);
     processedCharCount++;
   }
 
@@ -52,14 +55,18 @@ public class StartSignalDetector {
    */
   public boolean isDetected() {
     return processedCharCount >= signalLength
-        && getNumberOfUniqueChars() == signalLength;
+        && uniqueCharCount == signalLength;
+  }
+
+  private void remember(char c) {
+    if (charCounts[c]++ == 0) {
+      uniqueCharCount++;
+    }
   }
 
-  private int getNumberOfUniqueChars() {
-    uniqueChars.clear();
-    for (char c : characters) {
-      uniqueChars.add(c);
+  private void forget(char c) {
+    if (--charCounts[c] == 0) {
+      uniqueCharCount--;
     }
-    return uniqueChars.size();
   }
 }
@@ -0,0 +1,56 @@
+package problem.day08;
+
+/**
+ * Statistics of a part of the forest: the number of trees visible from outside, and the best
+ * scenic score.
+ */
+public class ForestStatistics {
+  /**
+   * Statistics of a part without any trees.
+   */
+  public static final ForestStatistics EMPTY = new ForestStatistics(0, -1);
+
+  private final int visibleTreeCount;
+  private final int bestScenicScore;
+
+  /**
+   * Create forest statistics.
+   *
+   * @param visibleTreeCount The number of trees visible from outside the forest
+   * @param bestScenicScore  The highest scenic score of the trees, -1 when there are no trees
+   */
+  public ForestStatistics(int visibleTreeCount, int bestScenicScore) {
+    this.visibleTreeCount = visibleTreeCount;
+    this.bestScenicScore = bestScenicScore;
+  }
+
+  /**
+   * Combine the statistics of two parts of the forest.
+   *
+   * @param first  Statistics of the first part
+   * @param second Statistics of the second part
+   * @return Statistics of both parts together
+   */
+  public static ForestStatistics combine(ForestStatistics first, ForestStatistics second) {
+    return new ForestStatistics(first.visibleTreeCount + second.visibleTreeCount,
+        Math.max(first.bestScenicScore, second.bestScenicScore));
+  }
+
+  /**
+   * Get the number of trees visible from outside the forest.
+   *
+   * @return The number of visible trees
+   */
+  public int getVisibleTreeCount() {
+    return visibleTreeCount;
+  }
+
+  /**
+   * Get the highest scenic score.
+   *
+   * @return The best scenic score, -1 when there are no trees
+   */
+  public int getBestScenicScore() {
+    return bestScenicScore;
+  }
+}
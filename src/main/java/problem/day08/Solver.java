@@ -1,8 +1,8 @@
 package problem.day08;
 
+import tools.ByteGrid;
 import tools.Direction;
 import tools.InputFile;
-import tools.IntegerGrid;
 import tools.Logger;
 
 /**
@@ -15,70 +15,74 @@ import tools.Logger;
  * Mark the tree as visible if the sight reaches the boundary in at least one direction
  */
 public class Solver {
+  private static final Direction[] LOOK_DIRECTIONS = {
+      Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT
+  };
+  // The rows are analyzed in parallel, in chunks of this many rows
+  private static final int ROW_CHUNK_SIZE = 8;
 
-  private final IntegerGrid treeHeights = new IntegerGrid();
+  private ByteGrid treeHeights;
   private int rowCount;
   private int columnCount;
-  private int visibleTreeCount;
-
-  private boolean[][] isVisibleFromOutside;
-
-  private int bestVisibility;
 
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 08...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem08.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem08.input");
     if (!inputFile.exists()) {
       Logger.info("Input file not found!");
       return;
     }
 
-    treeHeights.initializeFrom(inputFile.readAllIntoGridBuffer());
+    treeHeights = inputFile.readWithSnapshot("heights-bytes", ByteGrid.SNAPSHOT_CODEC, file -> {
+      ByteGrid grid = new ByteGrid();
+      grid.initializeFrom(file.readAllIntoTextGrid());
+      return grid;
+    });
     rowCount = treeHeights.getRowCount();
     columnCount = treeHeights.getColumnCount();
-    initializeEmptyVisibilityData();
 
     // A brute-force search. Not an efficient algorithm, but should work just fine
     // for the small data set
-    for (int row = 0; row < rowCount; ++row) {
-      for (int column = 0; column < columnCount; ++column) {
-        calculateVisibility(row, column);
-      }
-    }
+    ForestStatistics statistics = treeHeights.reduceRows(ForestStatistics.EMPTY,
+        this::analyzeRow, ForestStatistics::combine, ROW_CHUNK_SIZE);
 
-    Logger.info("Visible tree count: " + getVisibleTreeCount());
-    Logger.info("Highest scenic score: " + bestVisibility);
+    Logger.info("Visible tree count: " + statistics.getVisibleTreeCount());
+    Logger.info("Highest scenic score: " + statistics.getBestScenicScore());
   }
 
-  private int getVisibleTreeCount() {
-    return visibleTreeCount;
-  }
-
-  private void initializeEmptyVisibilityData() {
-    visibleTreeCount = 0;
-    bestVisibility = -1;
-    isVisibleFromOutside = new boolean[rowCount][columnCount];
-  }
-
-  private void calculateVisibility(int row, int column) {
-    int visibilityUp = findViewingDistance(row, column, Direction.UP);
-    int visibilityDown = findViewingDistance(row, column, Direction.DOWN);
-    int visibilityLeft = findViewingDistance(row, column, Direction.LEFT);
-    int visibilityRight = findViewingDistance(row, column, Direction.RIGHT);
-    int visibility = visibilityUp * visibilityDown * visibilityRight * visibilityLeft;
-    if (visibility > bestVisibility) {
-      bestVisibility = visibility;
+  /**
+   * Look from every tree in a row, in all four directions.
+   *
+   * @param row The row-index of the trees
+   * @return Statistics of the trees in the row
+   */
+  private ForestStatistics analyzeRow(int row) {
+    int visibleTreeCount = 0;
+    int bestScenicScore = -1;
+    for (int column = 0; column < columnCount; ++column) {
+      boolean visibleFromOutside = false;
+      int scenicScore = 1;
+      for (Direction direction : LOOK_DIRECTIONS) {
+        ViewingDistance distance = findViewingDistance(row, column, direction);
+        scenicScore *= distance.getTreeCount();
+        visibleFromOutside |= distance.isEdgeReached();
+      }
+      if (visibleFromOutside) {
+        visibleTreeCount++;
+      }
+      bestScenicScore = Math.max(scenicScore, bestScenicScore);
     }
+    return new ForestStatistics(visibleTreeCount, bestScenicScore);
   }
 
   /**
@@ -90,7 +94,7 @@ public class Solver {
    * @param direction The direction to look in
    * @return The viewing distance from the given tree in the given direction
    */
-  private int findViewingDistance(int row, int column, Direction direction) {
+  private ViewingDistance findViewingDistance(int row, int column, Direction direction) {
     int viewDistance = 0;
     boolean foundTallerTree = false;
     int startingTreeHeight = getTreeHeight(row, column);
@@ -108,18 +112,7 @@ public class Solver {
       sight.advanceOneStep();
     }
 
-    if (!foundTallerTree) {
-      markAsVisibleFromOutside(row, column);
-    }
-
-    return viewDistance;
-  }
-
-  private void markAsVisibleFromOutside(int row, int column) {
-    if (!isVisibleFromOutside[row][column]) {
-      isVisibleFromOutside[row][column] = true;
-      visibleTreeCount++;
-    }
+    return new ViewingDistance(viewDistance, !foundTallerTree);
   }
 
   private int getTreeHeight(int row, int column) {
@@ -0,0 +1,40 @@
+package problem.day08;
+
+/**
+ * The result of looking from a tree in one direction: how many trees can be seen, and whether
+ * the sight reaches the edge of the forest.
+ */
+public class ViewingDistance {
+  private final int treeCount;
+  private final boolean edgeReached;
+
+  /**
+   * Create a viewing distance.
+   *
+   * @param treeCount   The number of trees seen in the direction
+   * @param edgeReached True when no tree blocks the sight before the edge of the forest
+   */
+  public ViewingDistance(int treeCount, boolean edgeReached) {
+    this.treeCount = treeCount;
+    this.edgeReached = edgeReached;
+  }
+
+  /**
+   * Get the number of trees seen.
+   *
+   * @return The number of trees, including the tree which blocks the sight
+   */
+  public int getTreeCount() {
+    return treeCount;
+  }
+
+  /**
+   * Check whether the sight reaches the edge of the forest. When it does, the tree is visible
+   * from outside the forest.
+   *
+   * @return True when the edge is reached, false when a taller (or equal) tree blocks the sight
+   */
+  public boolean isEdgeReached() {
+    return edgeReached;
+  }
+}
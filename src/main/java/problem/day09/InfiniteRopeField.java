@@ -1,17 +1,17 @@
 package problem.day09;
 
-import java.util.HashSet;
-import java.util.Set;
 import tools.Logger;
-import tools.Vector;
+import tools.PackedPosition;
+import tools.TiledGrid;
 
 /**
  * Represents an infinite field where the position of the rope (the tail) is monitored.
  * Can track the number of unique positions the tail has visited.
  */
 public class InfiniteRopeField {
-  private int uniquePositionCount = 0;
-  private final Set<Vector> previousTailPositions = new HashSet<>();
+  private static final byte VISITED = 1;
+
+  private final TiledGrid previousTailPositions = new TiledGrid();
 
   /**
    * Get the number of unique positions visited.
@@ -19,27 +19,28 @@ public class InfiniteRopeField {
    * @return The number of unique positions the tail has visited
    */
   public int getUniqueVisitedPositionCount() {
-    return uniquePositionCount;
+    return (int) previousTailPositions.getPopulationCount();
   }
 
   /**
    * Register that the tail has moved to the provided position.
    *
-   * @param position The new tail position
+   * @param position The new tail position, packed with PackedPosition
    */
-  public void registerTailPosition(Vector position) {
+  public void registerTailPosition(long position) {
     if (!hasTailVisited(position)) {
       addUniquePosition(position);
     }
   }
 
-  private void addUniquePosition(Vector tailPosition) {
-    Logger.info("    Tail at NEW position");
-    previousTailPositions.add(tailPosition);
-    uniquePositionCount++;
+  private void addUniquePosition(long tailPosition) {
+    Logger.debug("    Tail at NEW position");
+    previousTailPositions.setValueAt(PackedPosition.getX(tailPosition),
+        PackedPosition.getY(tailPosition), VISITED);
   }
 
-  private boolean hasTailVisited(Vector tailPosition) {
-    return previousTailPositions.contains(tailPosition);
+  private boolean hasTailVisited(long tailPosition) {
+    return previousTailPositions.getValueAt(PackedPosition.getX(tailPosition),
+        PackedPosition.getY(tailPosition)) != 0;
   }
 }
@@ -1,5 +1,6 @@
 package problem.day09;
 
+import tools.Logger;
 import tools.Rectangle;
 import tools.Vector;
 
@@ -37,16 +38,13 @@ public class KnotDebugMap {
   }
 
   /**
-   * Print the debug-map to the console.
+   * Print the debug-map to the log, as debug messages.
    */
   public void print() {
-    System.out.println();
-    for (int row = 0; row < map.length; ++row) {
-      for (int column = 0; column < map[0].length; ++column) {
-        System.out.print(map[row][column]);
-      }
-      System.out.println();
+    Logger.debug("");
+    for (char[] row : map) {
+      Logger.debug(new String(row));
     }
-    System.out.println();
+    Logger.debug("");
   }
 }
@@ -1,6 +1,8 @@
 package problem.day09;
 
+import tools.BoundingBox;
 import tools.Logger;
+import tools.PackedPosition;
 import tools.Rectangle;
 import tools.Vector;
 
@@ -8,7 +10,8 @@ import tools.Vector;
  * Represents a rope with a head and tail.
  */
 public class Rope {
-  Vector[] knots;
+  // Knot positions, packed with PackedPosition: moving the rope does not allocate objects
+  long[] knots;
 
   int numberOfKnots;
 
@@ -23,9 +26,9 @@ public class Rope {
   public Rope(InfiniteRopeField field, int numberOfKnots) {
     this.field = field;
     this.numberOfKnots = numberOfKnots;
-    knots = new Vector[numberOfKnots];
+    knots = new long[numberOfKnots];
     for (int i = 0; i < numberOfKnots; ++i) {
-      knots[i] = new Vector(0, 0);
+      knots[i] = PackedPosition.pack(0, 0);
     }
   }
 
@@ -44,57 +47,59 @@ public class Rope {
   }
 
   private void knotFollows(int knotNumber) {
-    Vector distance = knots[knotNumber - 1].minus(knots[knotNumber]);
-    if (areKnotsIllegallyFar(distance)) {
+    long distance = PackedPosition.minus(knots[knotNumber - 1], knots[knotNumber]);
+    int distanceX = PackedPosition.getX(distance);
+    int distanceY = PackedPosition.getY(distance);
+    if (areKnotsIllegallyFar(distanceX, distanceY)) {
       throw new IllegalStateException("One knot too far from the next, this should never happen!");
     }
 
-    if (isTwoStepDiagonal(distance)) {
-      Vector halfDiagonal = distance.scaleToOneUnit();
-      moveKnot(knotNumber, halfDiagonal.getX(), halfDiagonal.getY());
-    } else if (isHeadTooFarRight(distance)) {
-      moveKnot(knotNumber, 1, distance.getY());
-    } else if (isHeadTooFarLeft(distance)) {
-      moveKnot(knotNumber, -1, distance.getY());
-    } else if (isHeadTooFarDown(distance)) {
-      moveKnot(knotNumber, distance.getX(), 1);
-    } else if (isHeadTooFarUp(distance)) {
-      moveKnot(knotNumber, distance.getX(), -1);
+    if (isTwoStepDiagonal(distanceX, distanceY)) {
+      moveKnot(knotNumber, Integer.signum(distanceX), Integer.signum(distanceY));
+    } else if (isHeadTooFarRight(distanceX)) {
+      moveKnot(knotNumber, 1, distanceY);
+    } else if (isHeadTooFarLeft(distanceX)) {
+      moveKnot(knotNumber, -1, distanceY);
+    } else if (isHeadTooFarDown(distanceY)) {
+      moveKnot(knotNumber, distanceX, 1);
+    } else if (isHeadTooFarUp(distanceY)) {
+      moveKnot(knotNumber, distanceX, -1);
     }
   }
 
-  private boolean isTwoStepDiagonal(Vector distance) {
-    return Math.abs(distance.getX()) == 2 && Math.abs(distance.getY()) == 2;
+  private boolean isTwoStepDiagonal(int distanceX, int distanceY) {
+    return Math.abs(distanceX) == 2 && Math.abs(distanceY) == 2;
   }
 
-  private boolean areKnotsIllegallyFar(Vector distance) {
-    return distance.getAbsoluteX() > 2 || distance.getAbsoluteY() > 2;
+  private boolean areKnotsIllegallyFar(int distanceX, int distanceY) {
+    return Math.abs(distanceX) > 2 || Math.abs(distanceY) > 2;
   }
 
-  private boolean isHeadTooFarRight(Vector headTailDistance) {
-    return headTailDistance.getX() == 2;
+  private boolean isHeadTooFarRight(int headTailDistanceX) {
+    return headTailDistanceX == 2;
   }
 
-  private boolean isHeadTooFarLeft(Vector headTailDistance) {
-    return headTailDistance.getX() == -2;
+  private boolean isHeadTooFarLeft(int headTailDistanceX) {
+    return headTailDistanceX == -2;
   }
 
-  private boolean isHeadTooFarUp(Vector headTailDistance) {
-    return headTailDistance.getY() == -2;
+  private boolean isHeadTooFarUp(int headTailDistanceY) {
+    return headTailDistanceY == -2;
   }
 
-  private boolean isHeadTooFarDown(Vector headTailDistance) {
-    return headTailDistance.getY() == 2;
+  private boolean isHeadTooFarDown(int headTailDistanceY) {
+    return headTailDistanceY == 2;
   }
 
   private void moveHead(Vector step) {
-    knots[0] = knots[0].plus(step);
-    Logger.info("Head at " + knots[0]);
+    knots[0] = PackedPosition.plus(knots[0], step.getX(), step.getY());
+    Logger.debug(() -> "Head at " + PackedPosition.toString(knots[0]));
   }
 
   private void moveKnot(int knotNumber, int deltaX, int deltaY) {
-    knots[knotNumber] = knots[knotNumber].plus(deltaX, deltaY);
-    Logger.info("  Knot[" + knotNumber + "] at " + knots[knotNumber]);
+    knots[knotNumber] = PackedPosition.plus(knots[knotNumber], deltaX, deltaY);
+    Logger.debug(() -> "  Knot[" + knotNumber + "] at "
+        + PackedPosition.toString(knots[knotNumber]));
     if (isTail(knotNumber)) {
       field.registerTailPosition(knots[knotNumber]);
     }
@@ -105,15 +110,19 @@ public class Rope {
   }
 
   /**
-   * Print the current knot map. Used for debugging.
+   * Print the current knot map. Used for debugging, does nothing unless debug logging is
+   * enabled.
    */
   public void printKnotMap() {
+    if (!Logger.isDebugEnabled()) {
+      return;
+    }
     KnotDebugMap map = new KnotDebugMap(findKnotPositionBoundaries());
     for (int i = 0; i < numberOfKnots; ++i) {
-      map.addKnot(i, knots[i]);
+      map.addKnot(i, getKnot(i));
     }
     // Add the head on top of all others
-    map.addKnot(0, knots[0]);
+    map.addKnot(0, getKnot(0));
     map.print();
   }
 
@@ -123,17 +132,11 @@ public class Rope {
    * @return The boundaries covering all knot positions
    */
   public Rectangle findKnotPositionBoundaries() {
-    int minX = 10000000;
-    int minY = 10000000;
-    int maxX = -10000000;
-    int maxY = -10000000;
+    BoundingBox boundingBox = new BoundingBox();
     for (int i = 0; i < numberOfKnots; ++i) {
-      minX = Math.min(knots[i].getX(), minX);
-      minY = Math.min(knots[i].getY(), minY);
-      maxX = Math.max(knots[i].getX(), maxX);
-      maxY = Math.max(knots[i].getY(), maxY);
+      boundingBox.add(PackedPosition.getX(knots[i]), PackedPosition.getY(knots[i]));
     }
-    return new Rectangle(minX, minY, maxX, maxY);
+    return boundingBox.toRectangle();
   }
 
   /**
@@ -144,6 +147,6 @@ public class Rope {
    * @throws ArrayIndexOutOfBoundsException if the knotNumber is invalid
    */
   public Vector getKnot(int knotNumber) {
-    return knots[knotNumber];
+    return PackedPosition.toVector(knots[knotNumber]);
   }
 }
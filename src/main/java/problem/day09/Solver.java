@@ -21,16 +21,16 @@ public class Solver {
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 09...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem09.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem09.input");
     if (!inputFile.exists()) {
       return;
     }
@@ -41,7 +41,7 @@ public class Solver {
     while (!inputFile.isEndOfFile()) {
       String command = inputFile.readLine();
       if (command != null) {
-        Logger.info("> " + command);
+        Logger.debug(() -> "> " + command);
         Movement movement = new Movement(command);
         rope.move(movement);
         rope.printKnotMap();
@@ -1,5 +1,7 @@
 package problem.day10;
 
+import tools.Logger;
+
 /**
  * Represents a CRT screen according to the task logic. Can draw an image frame pixel by pixel
  * based on the current sprite position (the CPU register value).
@@ -10,6 +12,8 @@ public class CrtScreen {
   private static final char EMPTY_PIXEL = '.';
   private final CentralProcessorUnit cpu;
   private int pixelPosition;
+  // The pixels of the current line, printed when the line is complete
+  private final StringBuilder currentLine = new StringBuilder(SCREEN_WIDTH);
 
   /**
    * Create a screen.
@@ -44,10 +48,11 @@ public class CrtScreen {
   }
 
   private void printPixel(char pixel) {
-    System.out.print(pixel);
+    currentLine.append(pixel);
   }
 
   private void moveCursorToNewLine() {
-    System.out.println();
+    Logger.info(currentLine.toString());
+    currentLine.setLength(0);
   }
 }
@@ -7,12 +7,15 @@ import problem.day11.operation.MultiplyOperation;
 import problem.day11.operation.Operation;
 import problem.day11.operation.SquareOperation;
 import tools.InputFile;
+import tools.LineBlock;
 
 
 /**
  * Reads monkey data from an input file.
  */
 public class MonkeyFileParser {
+  private static final int MONKEY_LINE_COUNT = 6;
+
   /**
    * Parse information of one monkey from the input file.
    *
@@ -22,27 +25,29 @@ public class MonkeyFileParser {
    * @throws IllegalArgumentException When something is not in the expected format in the input file
    */
   public static Monkey parse(InputFile inputFile, int monkeyIndex) throws IllegalArgumentException {
-    validateMonkeyIntroLine(inputFile, monkeyIndex);
-    List<Long> initialItems = parseInitialItems(inputFile);
-    Operation operation = parseOperation(inputFile);
-    DivisionCondition testCondition = parseTest(inputFile);
-    ThrowActions actions = parseActions(inputFile);
-    inputFile.skipEmptyLine();
+    LineBlock lines = inputFile.readBlockUntilEmptyLine();
+    if (lines.getLineCount() != MONKEY_LINE_COUNT) {
+      throw new IllegalArgumentException("Expected " + MONKEY_LINE_COUNT + " lines for monkey "
+          + monkeyIndex + ", found " + lines.getLineCount());
+    }
+    validateMonkeyIntroLine(lines.getLine(0), monkeyIndex);
+    List<Long> initialItems = parseInitialItems(lines.getLine(1));
+    Operation operation = parseOperation(lines.getLine(2));
+    DivisionCondition testCondition = parseTest(lines.getLine(3));
+    ThrowActions actions = parseActions(lines.getLine(4), lines.getLine(5));
     return new Monkey(initialItems, operation, testCondition, actions);
   }
 
-  private static void validateMonkeyIntroLine(InputFile inputFile, int monkeyIndex) {
+  private static void validateMonkeyIntroLine(String fileContent, int monkeyIndex) {
     String expectedContent = "Monkey " + monkeyIndex + ":";
-    String fileContent = inputFile.readLine();
     if (!expectedContent.equals(fileContent)) {
       throw new IllegalArgumentException("Invalid header line: " + fileContent);
     }
   }
 
-  private static List<Long> parseInitialItems(InputFile inputFile)
+  private static List<Long> parseInitialItems(String line)
       throws IllegalArgumentException {
     List<Long> items = new LinkedList<>();
-    String line = inputFile.readLine();
     if (!line.startsWith("  Starting items: ")) {
       throw new IllegalArgumentException("Invalid starting item line: " + line);
     }
@@ -65,8 +70,7 @@ public class MonkeyFileParser {
     }
   }
 
-  private static Operation parseOperation(InputFile inputFile) throws IllegalArgumentException {
-    String line = inputFile.readLine();
+  private static Operation parseOperation(String line) throws IllegalArgumentException {
     if (!line.startsWith("  Operation: new = ")) {
       throw new IllegalArgumentException("Invalid operation: " + line);
     }
@@ -89,8 +93,7 @@ public class MonkeyFileParser {
     return op;
   }
 
-  private static DivisionCondition parseTest(InputFile inputFile) throws IllegalArgumentException {
-    String line = inputFile.readLine();
+  private static DivisionCondition parseTest(String line) throws IllegalArgumentException {
     if (!line.startsWith("  Test: divisible by ")) {
       throw new IllegalArgumentException("Invalid test line: " + line);
     }
@@ -102,16 +105,15 @@ public class MonkeyFileParser {
     }
   }
 
-  private static ThrowActions parseActions(InputFile inputFile) {
-    int trueThrowIndex = parseAction(inputFile, true);
-    int falseThrowIndex = parseAction(inputFile, false);
+  private static ThrowActions parseActions(String trueLine, String falseLine) {
+    int trueThrowIndex = parseAction(trueLine, true);
+    int falseThrowIndex = parseAction(falseLine, false);
     return new ThrowActions(trueThrowIndex, falseThrowIndex);
   }
 
-  private static int parseAction(InputFile inputFile, boolean expectedCondition)
+  private static int parseAction(String line, boolean expectedCondition)
       throws IllegalArgumentException {
     String expectedLine = "    If " + expectedCondition + ": throw to monkey ";
-    String line = inputFile.readLine();
     if (!line.startsWith(expectedLine)) {
       throw new IllegalArgumentException("Invalid action line: " + line);
     }
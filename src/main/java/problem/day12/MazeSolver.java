@@ -1,8 +1,7 @@
 package problem.day12;
 
 import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.Queue;
+import tools.PackedPosition;
 import tools.Vector;
 
 /**
@@ -14,10 +13,14 @@ public class MazeSolver {
   private final MazeMap map;
 
   private boolean destinationFound;
-  private Vector destination;
+  private long destination;
 
   public static final int NOT_REACHED = -2;
-  private final Queue<Vector> cellsToVisit = new LinkedList<>();
+  // A FIFO queue of packed cell positions. Every cell is enqueued at most once per search,
+  // therefore the queue never needs more slots than there are cells.
+  private long[] cellsToVisit = new long[0];
+  private int queueHead;
+  private int queueTail;
 
   /**
    * Create a maze solver.
@@ -48,13 +51,13 @@ public class MazeSolver {
   public int findShortestPath(Vector source, Vector destination) {
     clearHistory();
     markCellAsDirectlyReachable(source);
-    this.destination = destination;
+    this.destination = PackedPosition.fromVector(destination);
     destinationFound = false;
 
-    cellsToVisit.add(source);
+    cellsToVisit[queueTail++] = PackedPosition.fromVector(source);
 
-    while (!cellsToVisit.isEmpty() && !destinationFound) {
-      enqueueReachableNeighbors(cellsToVisit.poll());
+    while (queueHead < queueTail && !destinationFound) {
+      enqueueReachableNeighbors(cellsToVisit[queueHead++]);
     }
 
     return distances[destination.getY()][destination.getX()];
@@ -62,7 +65,12 @@ public class MazeSolver {
 
   private void clearHistory() {
     clearDistances();
-    cellsToVisit.clear();
+    int cellCount = map.getHeight() * map.getWidth();
+    if (cellsToVisit.length < cellCount) {
+      cellsToVisit = new long[cellCount];
+    }
+    queueHead = 0;
+    queueTail = 0;
   }
 
   private void markCellAsDirectlyReachable(Vector source) {
@@ -73,11 +81,11 @@ public class MazeSolver {
    * Look at all neighbors directly reachable from the current cell, add those to the
    * verticesToVisit queue, and register that these can be reached within [distance] steps.
    *
-   * @param cell The current cell where the neighbors will be considered
+   * @param cell The current cell where the neighbors will be considered, packed position
    */
-  private void enqueueReachableNeighbors(Vector cell) {
-    int row = cell.getY();
-    int column = cell.getX();
+  private void enqueueReachableNeighbors(long cell) {
+    int row = PackedPosition.getY(cell);
+    int column = PackedPosition.getX(cell);
     int distanceToCurrentCell = distances[row][column];
     int distanceToNeighbors = distanceToCurrentCell + 1;
 
@@ -104,14 +112,14 @@ public class MazeSolver {
 
   private void enqueueForVisit(int row, int column, int distance) {
     distances[row][column] = distance;
-    Vector neighbor = new Vector(column, row);
+    long neighbor = PackedPosition.pack(column, row);
     if (isDestination(neighbor)) {
       destinationFound = true;
     }
-    cellsToVisit.add(neighbor);
+    cellsToVisit[queueTail++] = neighbor;
   }
 
-  private boolean isDestination(Vector neighbor) {
-    return neighbor.equals(destination);
+  private boolean isDestination(long neighbor) {
+    return neighbor == destination;
   }
 }
@@ -11,42 +11,58 @@ import tools.Vector;
  * Idea: Search the shortest path in a graph, use breadth-first search.
  */
 public class Solver {
+  // Each row can have many starting positions, rows are searched in parallel one by one
+  private static final int ROW_CHUNK_SIZE = 1;
+
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 12...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem12.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem12.input");
     if (!inputFile.exists()) {
       Logger.info("Input file not found");
       return;
     }
 
     TopoMap map = new TopoMap();
-    map.initializeFrom(inputFile.readAllIntoGridBuffer());
+    map.initializeFrom(inputFile.readAllIntoTextGrid());
     MazeSolver mazeSolver = new MazeSolver(map);
     Logger.info("Length of the shortest path from the starting position: "
         + mazeSolver.findShortestPath(map.getStartPosition(), map.getEndPosition()));
 
+    int shortestDistance = map.reduceRows(Integer.MAX_VALUE,
+        row -> findShortestHikeFromRow(map, row), Math::min, ROW_CHUNK_SIZE);
+    Logger.info("Shortest distance of all possible hikes: " + shortestDistance);
+  }
+
+  /**
+   * Find the shortest path to the end position, starting from any ground-level cell in a row.
+   * Each row gets its own maze solver, so that rows can be searched in parallel.
+   *
+   * @param map The map
+   * @param row The row where the path must start
+   * @return The length of the shortest path, Integer.MAX_VALUE when no path is found
+   */
+  private int findShortestHikeFromRow(TopoMap map, int row) {
+    MazeSolver mazeSolver = new MazeSolver(map);
     int shortestDistance = Integer.MAX_VALUE;
-    for (int row = 0; row < map.getHeight(); ++row) {
-      for (int column = 0; column < map.getWidth(); ++column) {
-        if (map.isGroundLevel(row, column)) {
-          Vector start = new Vector(column, row);
-          int distance = mazeSolver.findShortestPath(start, map.getEndPosition());
-          if (distance != MazeSolver.NOT_REACHED) {
-            shortestDistance = Math.min(distance, shortestDistance);
-          }
+    for (int column = 0; column < map.getWidth(); ++column) {
+      if (map.isGroundLevel(row, column)) {
+        Vector start = new Vector(column, row);
+        int distance = mazeSolver.findShortestPath(start, map.getEndPosition());
+        if (distance != MazeSolver.NOT_REACHED) {
+          shortestDistance = Math.min(distance, shortestDistance);
         }
       }
     }
-    Logger.info("Shortest distance of all possible hikes: " + shortestDistance);
+    return shortestDistance;
   }
 }
@@ -6,38 +6,67 @@ import tools.Vector;
 /**
  * Topological map containing height values. The character heights get translated into
  * integers, where a corresponds to 0, b corresponds to 1, ..., z corresponds to 25.
+ * When the map is initialized from a TextGrid, the heights are converted in place, in the array
+ * of the text grid.
  */
 public class TopoMap extends ConvertedGrid implements MazeMap {
   private static final char START_POSITION_CHAR = 'S';
   private static final char END_POSITION_CHAR = 'E';
 
-  private int[][] heights;
+  // Heights stored row after row, the height at (row, column) is at row * columnCount + column
+  private byte[] heights;
+  private int rowCount;
+  private int columnCount;
   private Vector startPosition;
   private Vector endPosition;
 
   @Override
   protected void createEmptyGrid(int rowCount, int columnCount) {
-    heights = new int[rowCount][columnCount];
+    heights = new byte[rowCount * columnCount];
+    this.rowCount = rowCount;
+    this.columnCount = columnCount;
   }
 
   @Override
   protected void setCellValueFromChar(int row, int column, char c) {
+    heights[row * columnCount + column] = toHeight(row, column, c);
+  }
+
+  @Override
+  protected boolean canAdoptCells() {
+    return true;
+  }
+
+  @Override
+  protected void adoptCells(byte[] cells, int rowCount, int columnCount)
+      throws IllegalArgumentException {
+    heights = cells;
+    this.rowCount = rowCount;
+    this.columnCount = columnCount;
+    for (int row = 0; row < rowCount; ++row) {
+      int rowStart = row * columnCount;
+      for (int column = 0; column < columnCount; ++column) {
+        cells[rowStart + column] = toHeight(row, column, (char) (cells[rowStart + column] & 0xFF));
+      }
+    }
+  }
+
+  /**
+   * Convert a map character to a height. Registers the start and end positions.
+   */
+  private byte toHeight(int row, int column, char c) throws IllegalArgumentException {
     if (c == START_POSITION_CHAR) {
       startPosition = new Vector(column, row);
+      return 0;
     } else if (c == END_POSITION_CHAR) {
-      setHeightValue(row, column, 'z');
       endPosition = new Vector(column, row);
-    } else {
-      setHeightValue(row, column, c);
+      return 'z' - 'a';
     }
-  }
-
-  private void setHeightValue(int row, int column, char c) throws IllegalArgumentException {
     int height = c - 'a';
     if (height < 0 || height > 25) {
       throw new IllegalArgumentException("Invalid height value: " + c);
     }
-    heights[row][column] = height;
+    return (byte) height;
   }
 
   /**
@@ -58,20 +87,30 @@ public class TopoMap extends ConvertedGrid implements MazeMap {
     return endPosition;
   }
 
+  @Override
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columnCount;
+  }
+
   @Override
   public int getHeight() {
-    return heights.length;
+    return rowCount;
   }
 
   @Override
   public int getWidth() {
-    return heights.length > 0 ? heights[0].length : 0;
+    return columnCount;
   }
 
   @Override
   public boolean canMove(int sourceRow, int sourceColumn, int destRow, int destColumn) {
-    int sourceHeight = heights[sourceRow][sourceColumn];
-    int destinationHeight = heights[destRow][destColumn];
+    int sourceHeight = heights[sourceRow * columnCount + sourceColumn];
+    int destinationHeight = heights[destRow * columnCount + destColumn];
     return destinationHeight <= sourceHeight + 1;
   }
 
@@ -84,6 +123,13 @@ public class TopoMap extends ConvertedGrid implements MazeMap {
    * @throws ArrayIndexOutOfBoundsException if the row or column is invalid
    */
   public boolean isGroundLevel(int row, int column) {
-    return heights[row][column] == 0;
+    assertWithinMap(row, column);
+    return heights[row * columnCount + column] == 0;
+  }
+
+  private void assertWithinMap(int row, int column) {
+    if (row < 0 || row >= rowCount || column < 0 || column >= columnCount) {
+      throw new ArrayIndexOutOfBoundsException("Cell outside the map: " + row + ", " + column);
+    }
   }
 }
@@ -1,6 +1,7 @@
 package problem.day13;
 
 import tools.InputFile;
+import tools.LineBlock;
 import tools.Logger;
 
 /**
@@ -13,16 +14,16 @@ public class Solver {
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 13...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem13.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem13.input");
     if (!inputFile.exists()) {
       Logger.info("Input file not found");
       return;
@@ -31,9 +32,10 @@ public class Solver {
     SignalList list = new SignalList();
 
     while (!inputFile.isEndOfFile()) {
-      list.add(readList(inputFile));
-      list.add(readList(inputFile));
-      inputFile.skipEmptyLine();
+      LineBlock pair = inputFile.readBlockUntilEmptyLine();
+      for (int i = 0; i < pair.getLineCount(); ++i) {
+        list.add(new ListOrInt(pair.getLine(i)));
+      }
     }
 
     ListOrInt firstSpecItem = new ListOrInt("[[2]]");
@@ -48,9 +50,4 @@ public class Solver {
     Logger.info("Special indices: " + firstIndex + " and " + secondIndex);
     Logger.info("Answer for Part 2: " + (firstIndex * secondIndex));
   }
-
-  private ListOrInt readList(InputFile inputFile) {
-    String line = inputFile.readLine();
-    return line != null ? new ListOrInt(line) : null;
-  }
 }
@@ -2,6 +2,7 @@ package problem.day14;
 
 import java.util.LinkedList;
 import java.util.List;
+import tools.BoundingBox;
 import tools.Rectangle;
 import tools.Vector;
 
@@ -10,6 +11,8 @@ import tools.Vector;
  */
 public class Path {
   private final List<Vector> corners = new LinkedList<>();
+  private final BoundingBox boundingBox = new BoundingBox();
+  // Created from the bounding box on request, reset when a corner is added
   private Rectangle boundaries;
 
   /**
@@ -20,14 +23,19 @@ public class Path {
    */
   public void addCorner(Vector corner) {
     corners.add(corner);
-    if (boundaries == null) {
-      boundaries = new Rectangle(corner.getX(), corner.getY(), corner.getX(), corner.getY());
-    } else {
-      boundaries = boundaries.extend(corner);
-    }
+    boundingBox.add(corner);
+    boundaries = null;
   }
 
+  /**
+   * Get the boundaries covering all the corners of the path.
+   *
+   * @return The boundaries, null when the path has no corners
+   */
   public Rectangle getBoundaries() {
+    if (boundaries == null && !boundingBox.isEmpty()) {
+      boundaries = boundingBox.toRectangle();
+    }
     return boundaries;
   }
 
@@ -2,8 +2,10 @@ package problem.day14;
 
 import java.util.LinkedList;
 import java.util.List;
+import tools.BoundingBox;
 import tools.InputFile;
 import tools.Logger;
+import tools.ReadMode;
 import tools.Rectangle;
 import tools.Vector;
 
@@ -19,16 +21,16 @@ public class Solver {
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 14...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem14.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem14.input", ReadMode.MEMORY_MAPPED);
     if (!inputFile.exists()) {
       Logger.info("Input file not found");
       return;
@@ -55,15 +57,16 @@ public class Solver {
   }
 
   private Rectangle findMapBoundariesIncludingFloor(List<Path> paths) {
-    Rectangle boundaries = new Rectangle(SAND_SOURCE_COORDINATES, SAND_SOURCE_COORDINATES);
-
-    for (Path p : paths) {
-      boundaries = boundaries.extend(p.getBoundaries());
+    BoundingBox boundingBox = new BoundingBox();
+    boundingBox.add(SAND_SOURCE_COORDINATES);
+    for (Path path : paths) {
+      Rectangle pathBoundaries = path.getBoundaries();
+      if (pathBoundaries != null) {
+        boundingBox.add(pathBoundaries);
+      }
     }
 
-    boundaries = extendByFloor(boundaries);
-
-    return boundaries;
+    return extendByFloor(boundingBox.toRectangle());
   }
 
   /**
@@ -1,6 +1,7 @@
 package problem.day14;
 
 import tools.Logger;
+import tools.PackedPosition;
 import tools.Rectangle;
 import tools.StringGrid;
 import tools.Vector;
@@ -39,14 +40,7 @@ public class WallMap {
   }
 
   private void createEmptyCells() {
-    int rowCount = boundaries.getHeight();
-    int columnCount = boundaries.getWidth();
-    String emptyRow = ("" + EMPTY_CELL).repeat(columnCount);
-
-    grid = new StringGrid();
-    for (int i = 0; i < rowCount; ++i) {
-      grid.appendRow(emptyRow);
-    }
+    grid = new StringGrid(boundaries.getHeight(), boundaries.getWidth(), EMPTY_CELL);
   }
 
   /**
@@ -114,21 +108,22 @@ public class WallMap {
   }
 
   /**
-   * Drop yet another grain of sand from the source.
+   * Drop yet another grain of sand from the source. The grain position is a packed position
+   * (see PackedPosition): no objects are created while the grain is falling.
    */
   public void dropOneGrain() {
     boolean dropping = true;
-    Vector grainPosition = sandSource;
+    long grainPosition = PackedPosition.fromVector(sandSource);
     while (dropping) {
       if (isSourceBlocked() || hasSandOverflown(grainPosition)) {
         overflow = true;
         dropping = false;
       } else if (canDropStraightDown(grainPosition)) {
-        grainPosition = grainPosition.plus(0, 1);
+        grainPosition = PackedPosition.plus(grainPosition, 0, 1);
       } else if (canDropToTheLeft(grainPosition)) {
-        grainPosition = grainPosition.plus(-1, 1);
+        grainPosition = PackedPosition.plus(grainPosition, -1, 1);
       } else if (canDropToTheRight(grainPosition)) {
-        grainPosition = grainPosition.plus(1, 1);
+        grainPosition = PackedPosition.plus(grainPosition, 1, 1);
       } else {
         dropping = false;
       }
@@ -140,48 +135,55 @@ public class WallMap {
   }
 
   private boolean isSourceBlocked() {
-    return !isCellEmpty(sandSource);
+    return !isCellEmpty(sandSource.getX(), sandSource.getY());
   }
 
-  private boolean hasSandOverflown(Vector grainPosition) {
-    return grainPosition.getX() < boundaries.getTopLeft().getX()
-        || grainPosition.getX() > boundaries.getBottomRight().getX()
-        || grainPosition.getY() > boundaries.getBottomRight().getY();
+  private boolean hasSandOverflown(long grainPosition) {
+    int x = PackedPosition.getX(grainPosition);
+    return x < boundaries.getTopLeft().getX()
+        || x > boundaries.getBottomRight().getX()
+        || PackedPosition.getY(grainPosition) > boundaries.getBottomRight().getY();
   }
 
-  private boolean canDropStraightDown(Vector grainPosition) {
-    return isAtBottomRow(grainPosition) || isCellEmpty(grainPosition.plus(0, 1));
+  private boolean canDropStraightDown(long grainPosition) {
+    return isAtBottomRow(grainPosition) || isCellEmpty(grainPosition, 0, 1);
   }
 
-  private boolean isAtBottomRow(Vector grainPosition) {
-    return grainPosition.getY() == boundaries.getBottomRight().getY();
+  private boolean isAtBottomRow(long grainPosition) {
+    return PackedPosition.getY(grainPosition) == boundaries.getBottomRight().getY();
   }
 
-  private boolean canDropToTheLeft(Vector grainPosition) {
+  private boolean canDropToTheLeft(long grainPosition) {
     return isAtBottomRow(grainPosition) || isAtLeftBoundary(grainPosition)
-        || isCellEmpty(grainPosition.plus(-1, 1));
+        || isCellEmpty(grainPosition, -1, 1);
   }
 
-  private boolean isAtLeftBoundary(Vector grainPosition) {
-    return grainPosition.getX() == boundaries.getTopLeft().getX();
+  private boolean isAtLeftBoundary(long grainPosition) {
+    return PackedPosition.getX(grainPosition) == boundaries.getTopLeft().getX();
   }
 
-  private boolean canDropToTheRight(Vector grainPosition) {
+  private boolean canDropToTheRight(long grainPosition) {
     return isAtBottomRow(grainPosition) || isAtRightBoundary(grainPosition)
-        || isCellEmpty(grainPosition.plus(1, 1));
+        || isCellEmpty(grainPosition, 1, 1);
+  }
+
+  private boolean isAtRightBoundary(long grainPosition) {
+    return PackedPosition.getX(grainPosition) == boundaries.getBottomRight().getX();
   }
 
-  private boolean isAtRightBoundary(Vector grainPosition) {
-    return grainPosition.getX() == boundaries.getBottomRight().getX();
+  private boolean isCellEmpty(long position, int deltaX, int deltaY) {
+    return isCellEmpty(PackedPosition.getX(position) + deltaX,
+        PackedPosition.getY(position) + deltaY);
   }
 
-  private boolean isCellEmpty(Vector position) {
-    char cell = grid.getCharacter(position.getY(), position.getX());
+  private boolean isCellEmpty(int x, int y) {
+    char cell = grid.getCharacter(y, x);
     return cell == EMPTY_CELL;
   }
 
-  private void markCellAsSand(Vector grainPosition) {
-    grid.replaceCharacter(grainPosition.getY(), grainPosition.getX(), SAND_CELL);
+  private void markCellAsSand(long grainPosition) {
+    grid.replaceCharacter(PackedPosition.getY(grainPosition), PackedPosition.getX(grainPosition),
+        SAND_CELL);
   }
 
   /**
@@ -205,7 +207,6 @@ public class WallMap {
    * Fill the bottom row (the floor) with wall-cells.
    */
   public void fillFloorByWall() {
-    String floorRow = ("" + WALL_CELL).repeat(grid.getColumnCount());
-    grid.replaceRow(grid.getRowCount() - 1, floorRow);
+    grid.fillRow(grid.getRowCount() - 1, WALL_CELL);
   }
 }
@@ -1,6 +1,7 @@
 package problem.day15;
 
 import tools.IntegerRange;
+import tools.RangeSweep;
 import tools.Vector;
 
 /**
@@ -29,6 +30,18 @@ public class Sensor {
     cleanRadius = calculateCleanRadius();
   }
 
+  /**
+   * Create a new sensor from known positions.
+   *
+   * @param sensorPosition        The position of the sensor
+   * @param closestBeaconPosition The position of the closest beacon
+   */
+  public Sensor(Vector sensorPosition, Vector closestBeaconPosition) {
+    this.sensorPosition = sensorPosition;
+    this.closestBeaconPosition = closestBeaconPosition;
+    cleanRadius = calculateCleanRadius();
+  }
+
   private Vector parseSensorPosition(String sensorInfo) throws IllegalArgumentException {
     if (!sensorInfo.startsWith("Sensor at x=")) {
       throw new IllegalArgumentException("Invalid sensor info format: " + sensorInfo);
@@ -65,17 +78,27 @@ public class Sensor {
     return manhattanDistance.getAbsoluteX() + manhattanDistance.getAbsoluteY();
   }
 
+  /**
+   * Get the number of clean cells on each side of the sensor's column in the given row.
+   *
+   * @param rowIndex The row to look at
+   * @return The horizontal clean radius, negative when the row is too far from the sensor
+   */
+  private int getHorizontalCleanRadius(int rowIndex) {
+    int verticalDistance = Math.abs(rowIndex - sensorPosition.getY());
+    return cleanRadius - verticalDistance;
+  }
+
   /**
    * Find a clean line (range of horizontal cells) where no beacon can be placed.
    *
-   * @param rowIndex The row too look at
+   * @param rowIndex The row to look at
    * @return An integer range representing the range of columns where no beacon can be located.
    *     Returns null if this sensor is too far from the given row to say anything about
    *     beacons there.
    */
   public IntegerRange findCleanLine(int rowIndex) {
-    int verticalDistance = Math.abs(rowIndex - sensorPosition.getY());
-    int horizontalCleanRadius = cleanRadius - verticalDistance;
+    int horizontalCleanRadius = getHorizontalCleanRadius(rowIndex);
 
     IntegerRange result = null;
     if (horizontalCleanRadius >= 0) {
@@ -87,7 +110,28 @@ public class Sensor {
     return result;
   }
 
+  /**
+   * Add the clean line of this sensor (see findCleanLine) to a sweep, if there is one.
+   *
+   * @param rowIndex The row to look at
+   * @param sweep    The sweep where the clean line will be added
+   * @return True if this sensor has a clean line in the given row, false otherwise
+   */
+  public boolean addCleanLine(int rowIndex, RangeSweep sweep) {
+    int horizontalCleanRadius = getHorizontalCleanRadius(rowIndex);
+    if (horizontalCleanRadius < 0) {
+      return false;
+    }
+    sweep.add(sensorPosition.getX() - horizontalCleanRadius,
+        sensorPosition.getX() + horizontalCleanRadius);
+    return true;
+  }
+
   public Vector getClosestBeaconPosition() {
     return closestBeaconPosition;
   }
+
+  public Vector getSensorPosition() {
+    return sensorPosition;
+  }
 }
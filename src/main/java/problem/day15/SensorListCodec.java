@@ -0,0 +1,54 @@
+package problem.day15;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import tools.SnapshotCodec;
+import tools.Vector;
+
+/**
+ * Stores a list of sensors in a binary snapshot: four integer coordinates per sensor.
+ */
+public class SensorListCodec implements SnapshotCodec<List<Sensor>> {
+  @Override
+  public String getId() {
+    return "day15-sensor-list";
+  }
+
+  @Override
+  public int getVersion() {
+    return 1;
+  }
+
+  @Override
+  public void write(List<Sensor> sensors, DataOutput out) throws IOException {
+    out.writeInt(sensors.size());
+    for (Sensor sensor : sensors) {
+      writeVector(sensor.getSensorPosition(), out);
+      writeVector(sensor.getClosestBeaconPosition(), out);
+    }
+  }
+
+  private static void writeVector(Vector v, DataOutput out) throws IOException {
+    out.writeInt(v.getX());
+    out.writeInt(v.getY());
+  }
+
+  @Override
+  public List<Sensor> read(DataInput in) throws IOException {
+    int sensorCount = in.readInt();
+    List<Sensor> sensors = new ArrayList<>(sensorCount);
+    for (int i = 0; i < sensorCount; ++i) {
+      Vector sensorPosition = readVector(in);
+      Vector beaconPosition = readVector(in);
+      sensors.add(new Sensor(sensorPosition, beaconPosition));
+    }
+    return sensors;
+  }
+
+  private static Vector readVector(DataInput in) throws IOException {
+    return new Vector(in.readInt(), in.readInt());
+  }
+}
@@ -1,11 +1,13 @@
 package problem.day15;
 
-import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 import tools.InputFile;
 import tools.IntegerRange;
 import tools.Logger;
 import tools.NonOverlappingRanges;
+import tools.RangeSweep;
+import tools.ReadMode;
 
 /**
  * Solution for the problem of Day 15
@@ -15,39 +17,38 @@ import tools.NonOverlappingRanges;
  * no beacon is located for sure. Let's call these projections "Clean lines". Each Clean line
  * consists of one or several horizontally aligned cells. Then we merge the Clean lines (cut the
  * overlapping cells). The answer for part 1 is the sum of cells inside the merged Clean lines.
- * If there would be very many sensors, we could first sort the Clean lines, but there will be less
- * than 30 Clean lines, we can do a full-search for finding the overlaps (O(n^2))
+ * The Clean lines of a row are sorted and merged in one sweep, reusing the same buffers for
+ * all the rows, therefore even thousands of sensors per row are fine.
  * Also: we need to remove the beacons from the clean lines.
  */
 public class Solver {
   private static final int MAX_ROW = 4000000;
   private static final int MAX_COLUMN = 4000000;
 
+  // Reused for every row, to avoid allocating memory in the row scan
+  private final RangeSweep cleanLineSweep = new RangeSweep();
+  private final NonOverlappingRanges cleanLines = new NonOverlappingRanges();
+
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments: optional name of the input file, "-" for standard input
    */
   public static void main(String[] args) {
     Logger.info("Solving puzzle for Day 15...");
     Solver solver = new Solver();
-    solver.solve();
+    solver.solve(args);
   }
 
-  private void solve() {
-    InputFile inputFile = new InputFile("problem15.input");
+  private void solve(String[] args) {
+    InputFile inputFile = InputFile.fromArguments(args, "problem15.input", ReadMode.MEMORY_MAPPED);
     if (!inputFile.exists()) {
       Logger.info("Input file not found");
       return;
     }
 
-    List<Sensor> sensors = new LinkedList<>();
-    while (!inputFile.isEndOfFile()) {
-      String line = inputFile.readLine();
-      if (line != null) {
-        sensors.add(new Sensor(line));
-      }
-    }
+    List<Sensor> sensors = inputFile.readWithSnapshot("sensors", new SensorListCodec(),
+        file -> file.parallelLines().map(Sensor::new).collect(Collectors.toList()));
 
     boolean gapFound = false;
     int gapRow = 0;
@@ -68,14 +69,11 @@ public class Solver {
     return x * 4000000 + y;
   }
 
-  private static NonOverlappingRanges findCleanLines(List<Sensor> sensors, int row) {
-    NonOverlappingRanges cleanLines = new NonOverlappingRanges();
+  private NonOverlappingRanges findCleanLines(List<Sensor> sensors, int row) {
     for (Sensor sensor : sensors) {
-      IntegerRange cleanLine = sensor.findCleanLine(row);
-      if (cleanLine != null) {
-        cleanLines.add(cleanLine);
-      }
+      sensor.addCleanLine(row, cleanLineSweep);
     }
+    cleanLineSweep.mergeInto(cleanLines);
     return cleanLines;
   }
 }
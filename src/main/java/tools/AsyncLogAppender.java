@@ -0,0 +1,183 @@
+package tools;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Passes the messages to a background thread which writes them to an output stream, so that
+ * the logging threads don't wait for the console. The messages are passed through a bounded,
+ * lock-free ring buffer: any number of threads can append, a single thread drains it. Each slot
+ * has a sequence number telling whether the slot is free for the producer of a given round, or
+ * holds a message ready for the consumer. When the buffer is full, the producers wait until
+ * the drain thread frees some slots - messages are never dropped. Producers which arrive after
+ * the appender has been closed write their messages directly to the output.
+ */
+class AsyncLogAppender implements LogAppender {
+  // How long the drain thread sleeps when there is nothing to do, unless woken up earlier
+  private static final long IDLE_PARK_NANOS = 10_000_000L;
+  // The drain thread writes this many messages before it flushes the output
+  private static final int MAX_BATCH_SIZE = 1024;
+
+  private final PrintStream output;
+  private final int mask;
+  private final AtomicReferenceArray<String> messages;
+  private final AtomicLongArray sequences;
+  // The position where the next message will be stored
+  private final AtomicLong tail = new AtomicLong();
+  // The number of messages written out by the drain thread
+  private final AtomicLong written = new AtomicLong();
+  // The number of producers inside append(). Closing waits until they have published.
+  private final AtomicInteger activeProducers = new AtomicInteger();
+  private final Thread drainThread;
+
+  // The position of the next message to write. Used by the drain thread, and by close()
+  // after the drain thread has finished.
+  private long head = 0;
+  private volatile boolean drainThreadSleeping = false;
+  private volatile boolean closed = false;
+
+  /**
+   * Create an appender and start the drain thread.
+   *
+   * @param output   The stream where the messages are written
+   * @param capacity The number of messages the buffer can hold, rounded up to a power of two
+   */
+  AsyncLogAppender(PrintStream output, int capacity) {
+    this.output = output;
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    mask = size - 1;
+    messages = new AtomicReferenceArray<>(size);
+    sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; ++i) {
+      sequences.set(i, i);
+    }
+    drainThread = new Thread(this::drain, "log-drain");
+    drainThread.setDaemon(true);
+    drainThread.start();
+  }
+
+  @Override
+  public void append(String message) {
+    // Announce the producer before checking the flag: close() either sees this producer and
+    // waits for it, or this producer sees the flag
+    activeProducers.incrementAndGet();
+    try {
+      while (true) {
+        if (closed) {
+          // The logger has switched to another appender, or the buffer is full and no longer
+          // drained: this thread was a bit late
+          output.println(message);
+          return;
+        }
+        long position = tail.get();
+        int slot = (int) (position & mask);
+        long sequence = sequences.get(slot);
+        if (sequence == position) {
+          if (tail.compareAndSet(position, position + 1)) {
+            messages.set(slot, message);
+            // Publish: the consumer takes the slot once its sequence is one ahead of the position
+            sequences.set(slot, position + 1);
+            wakeUpDrainThread();
+            return;
+          }
+        } else if (sequence < position) {
+          // The buffer is full, wait for the drain thread
+          wakeUpDrainThread();
+          Thread.yield();
+        }
+        // Otherwise another producer took the slot, try the next one
+      }
+    } finally {
+      activeProducers.decrementAndGet();
+    }
+  }
+
+  private void wakeUpDrainThread() {
+    if (drainThreadSleeping) {
+      LockSupport.unpark(drainThread);
+    }
+  }
+
+  private void drain() {
+    int batchSize = 0;
+    while (!closed || head < tail.get()) {
+      if (writeNextMessage()) {
+        batchSize++;
+        if (batchSize == MAX_BATCH_SIZE) {
+          output.flush();
+          written.set(head);
+          batchSize = 0;
+        }
+      } else {
+        output.flush();
+        written.set(head);
+        batchSize = 0;
+        sleepUntilWokenUp();
+      }
+    }
+    output.flush();
+    written.set(head);
+  }
+
+  /**
+   * Write the message at the head of the buffer, if it has been published.
+   *
+   * @return True if a message was written, false if there is none ready
+   */
+  private boolean writeNextMessage() {
+    int slot = (int) (head & mask);
+    if (sequences.get(slot) != head + 1) {
+      return false;
+    }
+    output.println(messages.get(slot));
+    messages.set(slot, null);
+    sequences.set(slot, head + mask + 1);
+    head++;
+    return true;
+  }
+
+  private void sleepUntilWokenUp() {
+    drainThreadSleeping = true;
+    // Check again after announcing the sleep: a producer may have published in between
+    if (sequences.get((int) (head & mask)) != head + 1 && !closed) {
+      LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+    }
+    drainThreadSleeping = false;
+  }
+
+  @Override
+  public void flush() {
+    long target = tail.get();
+    while (written.get() < target && drainThread.isAlive()) {
+      LockSupport.unpark(drainThread);
+      Thread.yield();
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    // Producers which did not see the flag are finishing their messages, wait for them
+    while (activeProducers.get() > 0) {
+      LockSupport.unpark(drainThread);
+      Thread.yield();
+    }
+    LockSupport.unpark(drainThread);
+    try {
+      drainThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    // The drain thread may have stopped before the last producers published their messages
+    while (head < tail.get() && writeNextMessage()) {
+      // Keep writing
+    }
+    output.flush();
+    written.set(head);
+  }
+}
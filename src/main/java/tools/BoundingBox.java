@@ -0,0 +1,95 @@
+package tools;
+
+import java.util.stream.Collector;
+
+/**
+ * Accumulates the bounding box of a set of points. Tracks the minimum and maximum coordinates
+ * as primitives, a Rectangle is created only when requested. Bounding boxes of separate parts
+ * of a point set can be combined, therefore a large point set can be processed in parallel,
+ * see collector().
+ */
+public class BoundingBox {
+  private int minX = Integer.MAX_VALUE;
+  private int minY = Integer.MAX_VALUE;
+  private int maxX = Integer.MIN_VALUE;
+  private int maxY = Integer.MIN_VALUE;
+
+  /**
+   * Get a collector which calculates the bounding box of a stream of points. Works with
+   * parallel streams.
+   *
+   * @return The collector
+   */
+  public static Collector<Vector, BoundingBox, BoundingBox> collector() {
+    return Collector.of(BoundingBox::new, BoundingBox::add, BoundingBox::combine,
+        Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+  }
+
+  /**
+   * Extend the box to cover a point.
+   *
+   * @param x The x-coordinate of the point
+   * @param y The y-coordinate of the point
+   */
+  public void add(int x, int y) {
+    minX = Math.min(minX, x);
+    minY = Math.min(minY, y);
+    maxX = Math.max(maxX, x);
+    maxY = Math.max(maxY, y);
+  }
+
+  /**
+   * Extend the box to cover a point.
+   *
+   * @param point The point
+   */
+  public void add(Vector point) {
+    add(point.getX(), point.getY());
+  }
+
+  /**
+   * Extend the box to cover a rectangle.
+   *
+   * @param rectangle The rectangle
+   */
+  public void add(Rectangle rectangle) {
+    add(rectangle.getTopLeft());
+    add(rectangle.getBottomRight());
+  }
+
+  /**
+   * Extend this box to cover another box as well.
+   *
+   * @param other The other box, not modified
+   * @return This box
+   */
+  public BoundingBox combine(BoundingBox other) {
+    minX = Math.min(minX, other.minX);
+    minY = Math.min(minY, other.minY);
+    maxX = Math.max(maxX, other.maxX);
+    maxY = Math.max(maxY, other.maxY);
+    return this;
+  }
+
+  /**
+   * Check whether the box is empty.
+   *
+   * @return True when no points have been added
+   */
+  public boolean isEmpty() {
+    return minX > maxX;
+  }
+
+  /**
+   * Create a rectangle with the current boundaries.
+   *
+   * @return The rectangle covering all the points added so far
+   * @throws IllegalStateException When the box is empty
+   */
+  public Rectangle toRectangle() throws IllegalStateException {
+    if (isEmpty()) {
+      throw new IllegalStateException("Empty bounding box can't be converted to a rectangle");
+    }
+    return new Rectangle(minX, minY, maxX, maxY);
+  }
+}
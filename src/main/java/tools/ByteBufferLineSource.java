@@ -0,0 +1,132 @@
+package tools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads lines from bytes stored in a byte buffer. Lines are returned as views into the buffer,
+ * without decoding them into new strings. The buffer is seen as a window of the input:
+ * subclasses can move the window when the input does not fit in one buffer.
+ */
+class ByteBufferLineSource implements LineSource {
+  private static final byte NEWLINE = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+
+  private final ByteLineView view = new ByteLineView();
+
+  protected ByteBuffer window;
+  protected int position;
+
+  /**
+   * Create a line source for all the bytes in the buffer, from index zero up to the limit.
+   *
+   * @param buffer The buffer holding the whole input
+   */
+  ByteBufferLineSource(ByteBuffer buffer) {
+    this.window = buffer;
+    this.position = 0;
+  }
+
+  /**
+   * Create a line source without a window, the subclass must set the window.
+   */
+  protected ByteBufferLineSource() {
+  }
+
+  /**
+   * Check whether the current window reaches the end of the input.
+   *
+   * @return True when there are no bytes after the current window
+   */
+  protected boolean isWindowAtEnd() {
+    return true;
+  }
+
+  /**
+   * Move the window so that it starts at the current position. Called only when the window is
+   * not at the end of the input.
+   *
+   * @throws IOException When the next window can't be loaded
+   */
+  protected void moveWindowToPosition() throws IOException {
+    throw new IOException("No input after the end of the buffer");
+  }
+
+  private boolean hasRemaining() {
+    return position < window.limit() || !isWindowAtEnd();
+  }
+
+  @Override
+  public String readLine() throws IOException {
+    CharSequence line = readLineView();
+    return line != null ? line.toString() : null;
+  }
+
+  @Override
+  public CharSequence readLineView() throws IOException {
+    if (!hasRemaining()) {
+      return null;
+    }
+
+    int lineEnd = findLineEnd();
+    int length = lineEnd - position;
+    if (length > 0 && window.get(lineEnd - 1) == CARRIAGE_RETURN) {
+      length--;
+    }
+    view.set(window, position, length);
+    position = lineEnd < window.limit() ? lineEnd + 1 : lineEnd;
+    return view;
+  }
+
+  /**
+   * Find the end of the current line. If the line continues beyond the current window, the
+   * window is moved so that it starts at the beginning of the line.
+   *
+   * @return Index of the newline character within the window, or the window limit when the
+   *     last line of the input has no newline at the end.
+   * @throws IOException When the line does not fit in one window or moving the window fails
+   */
+  private int findLineEnd() throws IOException {
+    int newlineIndex = findNewline(position);
+    if (newlineIndex < 0 && !isWindowAtEnd()) {
+      moveWindowToPosition();
+      newlineIndex = findNewline(0);
+      if (newlineIndex < 0 && !isWindowAtEnd()) {
+        throw new IOException("Line longer than " + window.limit() + " bytes");
+      }
+    }
+    return newlineIndex >= 0 ? newlineIndex : window.limit();
+  }
+
+  private int findNewline(int from) {
+    int limit = window.limit();
+    for (int i = from; i < limit; ++i) {
+      if (window.get(i) == NEWLINE) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int read(char[] buffer, int offset, int length) throws IOException {
+    if (position == window.limit()) {
+      if (isWindowAtEnd()) {
+        return -1;
+      }
+      moveWindowToPosition();
+    }
+
+    int count = Math.min(length, window.limit() - position);
+    for (int i = 0; i < count; ++i) {
+      buffer[offset + i] = (char) (window.get(position + i) & 0xFF);
+    }
+    position += count;
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    // Nothing to release, the buffer is garbage-collected
+  }
+}
@@ -0,0 +1,164 @@
+package tools;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Stores a grid of single-digit integers (0-9), one byte per cell. All the cells are stored
+ * in one array, row after row. When initialized from a TextGrid, the digits are converted in
+ * place, in the array of the text grid.
+ */
+public class ByteGrid extends ConvertedGrid {
+  /**
+   * Codec for storing the grid in a binary snapshot.
+   */
+  public static final SnapshotCodec<ByteGrid> SNAPSHOT_CODEC = new SnapshotCodec<>() {
+    @Override
+    public String getId() {
+      return "byte-grid";
+    }
+
+    @Override
+    public int getVersion() {
+      return 1;
+    }
+
+    @Override
+    public void write(ByteGrid value, DataOutput out) throws IOException {
+      out.writeInt(value.getRowCount());
+      out.writeInt(value.getColumnCount());
+      out.write(value.grid, 0, value.rowCount * value.columnCount);
+    }
+
+    @Override
+    public ByteGrid read(DataInput in) throws IOException {
+      ByteGrid value = new ByteGrid();
+      value.createEmptyGrid(in.readInt(), in.readInt());
+      in.readFully(value.grid);
+      return value;
+    }
+  };
+
+  private byte[] grid;
+  private int rowCount;
+  private int columnCount;
+
+  /**
+   * Get the number of rows stored in the grid.
+   *
+   * @return The number of rows. Zero when grid is empty.
+   */
+  @Override
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Get the number of columns in the grid.
+   *
+   * @return The number of columns, zero the grid is empty.
+   */
+  @Override
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /**
+   * Get the value at specific row and column.
+   *
+   * @param row    The row index
+   * @param column The column index
+   * @return The cell value
+   * @throws ArrayIndexOutOfBoundsException if the row or column index is out of bounds
+   */
+  public int getValueAt(int row, int column) throws ArrayIndexOutOfBoundsException {
+    if (row < 0 || row >= rowCount) {
+      throw new ArrayIndexOutOfBoundsException("Row outside the grid: " + row);
+    }
+    if (column < 0 || column >= columnCount) {
+      throw new ArrayIndexOutOfBoundsException("Column outside the grid: " + column);
+    }
+    return grid[row * columnCount + column];
+  }
+
+  @Override
+  protected void setCellValueFromChar(int row, int column, char c) throws IllegalArgumentException {
+    if (c < '0' || c > '9') {
+      throw new IllegalArgumentException("Invalid integer value in the grid: " + c);
+    }
+    grid[row * columnCount + column] = (byte) (c - '0');
+  }
+
+  @Override
+  protected void setRowFromChars(int row, char[] source, int offset, int length)
+      throws IllegalArgumentException {
+    int rowStart = row * columnCount;
+    // Any character outside '0'..'9' makes one of the two terms negative. A single check
+    // after the loop keeps the loop free of branches.
+    int invalidBits = 0;
+    for (int j = 0; j < length; ++j) {
+      int digit = source[offset + j] - '0';
+      grid[rowStart + j] = (byte) digit;
+      invalidBits |= digit | (9 - digit);
+    }
+    if (invalidBits < 0) {
+      throw invalidRow(row);
+    }
+  }
+
+  @Override
+  protected void setRowFromChars(int row, byte[] source, int offset, int length)
+      throws IllegalArgumentException {
+    int rowStart = row * columnCount;
+    int invalidBits = 0;
+    for (int j = 0; j < length; ++j) {
+      int digit = (source[offset + j] & 0xFF) - '0';
+      grid[rowStart + j] = (byte) digit;
+      invalidBits |= digit | (9 - digit);
+    }
+    if (invalidBits < 0) {
+      throw invalidRow(row);
+    }
+  }
+
+  @Override
+  protected boolean canAdoptCells() {
+    return true;
+  }
+
+  @Override
+  protected void adoptCells(byte[] cells, int rowCount, int columnCount)
+      throws IllegalArgumentException {
+    grid = cells;
+    this.rowCount = rowCount;
+    this.columnCount = columnCount;
+    for (int row = 0; row < rowCount; ++row) {
+      setRowFromChars(row, cells, row * columnCount, columnCount);
+    }
+  }
+
+  private IllegalArgumentException invalidRow(int row) {
+    return new IllegalArgumentException("Invalid integer value in the grid, row " + row);
+  }
+
+  /**
+   * Create an empty grid. The number of cells must fit in an int, then no index calculation
+   * in this grid can overflow.
+   *
+   * @throws IllegalArgumentException When the size is negative or the grid is too large
+   */
+  @Override
+  protected void createEmptyGrid(int rowCount, int columnCount) throws IllegalArgumentException {
+    if (rowCount < 0 || columnCount < 0) {
+      throw new IllegalArgumentException("Invalid grid size: " + rowCount + "x" + columnCount);
+    }
+    long cellCount = (long) rowCount * columnCount;
+    if (cellCount > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Grid too large: " + rowCount + "x" + columnCount);
+    }
+    grid = new byte[(int) cellCount];
+    this.rowCount = rowCount;
+    this.columnCount = columnCount;
+  }
+}
@@ -0,0 +1,62 @@
+package tools;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable view of a line stored as bytes inside a byte buffer. Each byte is interpreted as
+ * one character (ASCII / ISO-8859-1). No bytes are copied until toString() is called.
+ */
+public class ByteLineView implements CharSequence {
+  private ByteBuffer buffer;
+  private int offset;
+  private int length;
+
+  /**
+   * Point the view to another line.
+   *
+   * @param buffer The buffer holding the bytes of the line
+   * @param offset The index of the first byte of the line within the buffer
+   * @param length The number of bytes in the line
+   */
+  void set(ByteBuffer buffer, int offset, int length) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Copy the bytes of the line into an array.
+   *
+   * @param destination The array to copy to
+   * @param position    The index in the array where the first byte is stored
+   */
+  void copyTo(byte[] destination, int position) {
+    buffer.get(offset, destination, position, length);
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Invalid index in the line: " + index);
+    }
+    return (char) (buffer.get(offset + index) & 0xFF);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return toString().substring(start, end);
+  }
+
+  @Override
+  public String toString() {
+    byte[] bytes = new byte[length];
+    buffer.get(offset, bytes);
+    return new String(bytes, StandardCharsets.ISO_8859_1);
+  }
+}
@@ -0,0 +1,156 @@
+package tools;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression format of an input file. Detected from the first bytes of the file: GZIP by its
+ * magic number, zlib by its header and a trial decoding of the start of the data.
+ */
+public enum Compression {
+  /**
+   * Plain, uncompressed text.
+   */
+  NONE,
+
+  /**
+   * GZIP format (.gz files).
+   */
+  GZIP,
+
+  /**
+   * Raw zlib stream, as written by java.util.zip.DeflaterOutputStream.
+   */
+  ZLIB;
+
+  private static final int HEADER_LENGTH = 2;
+  // The number of bytes inflated on trial, before a stream is accepted as zlib
+  private static final int SNIFF_LENGTH = 64 * 1024;
+  private static final int ZLIB_DICTIONARY_FLAG = 0x20;
+
+  /**
+   * Detect the compression of a stream. The stream position is not changed.
+   *
+   * @param stream The stream to check, must support mark and reset
+   * @return The detected compression
+   * @throws IOException When reading the stream fails
+   */
+  static Compression detect(BufferedInputStream stream) throws IOException {
+    stream.mark(SNIFF_LENGTH + 1);
+    byte[] prefix = new byte[SNIFF_LENGTH];
+    int length = stream.readNBytes(prefix, 0, SNIFF_LENGTH);
+    boolean complete = length < SNIFF_LENGTH || stream.read() < 0;
+    stream.reset();
+    return fromPrefix(prefix, length, complete);
+  }
+
+  /**
+   * Detect the compression of a file.
+   *
+   * @param path The path of the file to check
+   * @return The detected compression
+   * @throws IOException When reading the file fails
+   */
+  static Compression detect(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer prefix = ByteBuffer.allocate(SNIFF_LENGTH);
+      while (prefix.hasRemaining() && channel.read(prefix, prefix.position()) > 0) {
+        // Keep reading until the prefix is full or the end of the file is reached
+      }
+      boolean complete = channel.size() <= prefix.position();
+      return fromPrefix(prefix.array(), prefix.position(), complete);
+    }
+  }
+
+  /**
+   * Detect the compression of data stored in memory.
+   *
+   * @param data The data to check
+   * @return The detected compression
+   */
+  static Compression detect(byte[] data) {
+    int length = Math.min(data.length, SNIFF_LENGTH);
+    return fromPrefix(data, length, length == data.length);
+  }
+
+  /**
+   * Detect the compression from the first bytes of the data.
+   *
+   * @param prefix   The first bytes of the data
+   * @param length   The number of bytes in the prefix
+   * @param complete True when the prefix holds all the data
+   * @return The detected compression
+   */
+  private static Compression fromPrefix(byte[] prefix, int length, boolean complete) {
+    if (length < HEADER_LENGTH) {
+      return NONE;
+    }
+    int first = prefix[0] & 0xFF;
+    int second = prefix[1] & 0xFF;
+    if (first == 0x1F && second == 0x8B) {
+      return GZIP;
+    }
+    if (hasZlibHeader(first, second) && inflatesWithoutErrors(prefix, length, complete)) {
+      return ZLIB;
+    }
+    return NONE;
+  }
+
+  /**
+   * Check the zlib header: deflate method in the lower bits, no preset dictionary, and the
+   * 16-bit header is a multiple of 31. Plenty of text matches this as well.
+   */
+  private static boolean hasZlibHeader(int first, int second) {
+    return (first & 0x0F) == 8 && (first >> 4) <= 7 && (second & ZLIB_DICTIONARY_FLAG) == 0
+        && (first * 256 + second) % 31 == 0;
+  }
+
+  /**
+   * Try to inflate the prefix as zlib data. When the prefix holds all the data, the stream must
+   * end properly, with a valid checksum. Otherwise, the whole prefix must inflate without
+   * errors. Text which only happens to start like a zlib header fails either way.
+   */
+  private static boolean inflatesWithoutErrors(byte[] prefix, int length, boolean complete) {
+    Inflater inflater = new Inflater();
+    byte[] output = new byte[8192];
+    try {
+      inflater.setInput(prefix, 0, length);
+      while (!inflater.finished()) {
+        if (inflater.inflate(output) == 0 && (inflater.needsInput()
+            || inflater.needsDictionary())) {
+          break;
+        }
+      }
+      return inflater.finished() || (!complete && inflater.needsInput());
+    } catch (DataFormatException e) {
+      return false;
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Wrap the stream with a decoder for this compression.
+   *
+   * @param stream     The compressed stream
+   * @param bufferSize Size of the buffer for the compressed data
+   * @return A stream of decoded bytes
+   * @throws IOException When the stream header is invalid
+   */
+  InputStream decode(InputStream stream, int bufferSize) throws IOException {
+    return switch (this) {
+      case GZIP -> new GZIPInputStream(stream, bufferSize);
+      case ZLIB -> new InflaterInputStream(stream, new Inflater(), bufferSize);
+      default -> stream;
+    };
+  }
+}
@@ -0,0 +1,34 @@
+package tools;
+
+import java.io.PrintStream;
+
+/**
+ * Writes each message to an output stream immediately, in the calling thread.
+ */
+class ConsoleLogAppender implements LogAppender {
+  private final PrintStream output;
+
+  /**
+   * Create an appender.
+   *
+   * @param output The stream where the messages are written
+   */
+  ConsoleLogAppender(PrintStream output) {
+    this.output = output;
+  }
+
+  @Override
+  public void append(String message) {
+    output.println(message);
+  }
+
+  @Override
+  public void flush() {
+    output.flush();
+  }
+
+  @Override
+  public void close() {
+    flush();
+  }
+}
@@ -1,13 +1,19 @@
 package tools;
 
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 /**
- * Can convert a String grid into another grid.
+ * Can convert a String grid or a text grid into another grid. Rows and columns of the grid can
+ * be processed in parallel.
  */
 public abstract class ConvertedGrid {
 
   /**
-   * Creates a specific grid from the string grid. Uses the transformCell function
-   * implemented in child classes.
+   * Creates a specific grid from the string grid. Converts the grid row by row, see
+   * setRowFromChars().
    *
    * @param stringGrid The source grid of strings
    * @throws IllegalArgumentException When some grid values can't be converted
@@ -17,16 +23,105 @@ public abstract class ConvertedGrid {
       throw new IllegalArgumentException("Can't convert empty string grid");
     }
 
-    createEmptyGrid(stringGrid.getRowCount(), stringGrid.getColumnCount());
+    int rowCount = stringGrid.getRowCount();
+    int columnCount = stringGrid.getColumnCount();
+    createEmptyGrid(rowCount, columnCount);
+
+    char[] cells = stringGrid.getCells();
+    for (int i = 0; i < rowCount; ++i) {
+      setRowFromChars(i, cells, i * columnCount, columnCount);
+    }
+  }
+
+  /**
+   * Creates a specific grid from the text grid. Grids which store one byte per cell take over
+   * the array of the text grid and convert it in place (see adoptCells()): the grid is then
+   * not held twice in memory, and the text grid is empty afterwards. Other grids convert the
+   * text row by row, see setRowFromChars().
+   *
+   * @param textGrid The source grid of characters
+   * @throws IllegalArgumentException When some grid values can't be converted
+   */
+  public void initializeFrom(TextGrid textGrid) throws IllegalArgumentException {
+    if (textGrid == null || textGrid.getRowCount() == 0) {
+      throw new IllegalArgumentException("Can't convert empty text grid");
+    }
+
+    int rowCount = textGrid.getRowCount();
+    int columnCount = textGrid.getColumnCount();
+    if (canAdoptCells()) {
+      byte[] cells = textGrid.takeCells();
+      adoptCells(cells, rowCount, columnCount);
+      return;
+    }
+    createEmptyGrid(rowCount, columnCount);
 
-    for (int i = 0; i < stringGrid.getRowCount(); ++i) {
-      String row = stringGrid.getRow(i);
-      for (int j = 0; j < row.length(); ++j) {
-        setCellValueFromChar(i, j, row.charAt(j));
-      }
+    byte[] cells = textGrid.getCells();
+    for (int i = 0; i < rowCount; ++i) {
+      setRowFromChars(i, cells, i * columnCount, columnCount);
     }
   }
 
+  /**
+   * Set the values of a whole row from characters. Calls setCellValueFromChar for each cell;
+   * child classes can override this with a faster conversion of the whole row.
+   *
+   * @param row    The row of the grid where the values must be placed
+   * @param source The characters to convert
+   * @param offset Index of the character for column zero
+   * @param length The number of columns
+   * @throws IllegalArgumentException When some of the characters can't be interpreted properly
+   */
+  protected void setRowFromChars(int row, char[] source, int offset, int length)
+      throws IllegalArgumentException {
+    for (int j = 0; j < length; ++j) {
+      setCellValueFromChar(row, j, source[offset + j]);
+    }
+  }
+
+  /**
+   * Set the values of a whole row from characters stored as bytes (ASCII / ISO-8859-1).
+   * Calls setCellValueFromChar for each cell; child classes can override this with a faster
+   * conversion of the whole row.
+   *
+   * @param row    The row of the grid where the values must be placed
+   * @param source The characters to convert, one byte per character
+   * @param offset Index of the character for column zero
+   * @param length The number of columns
+   * @throws IllegalArgumentException When some of the characters can't be interpreted properly
+   */
+  protected void setRowFromChars(int row, byte[] source, int offset, int length)
+      throws IllegalArgumentException {
+    for (int j = 0; j < length; ++j) {
+      setCellValueFromChar(row, j, (char) (source[offset + j] & 0xFF));
+    }
+  }
+
+  /**
+   * Check whether this grid can take over the cell array of a text grid, see adoptCells().
+   *
+   * @return True if adoptCells() is implemented
+   */
+  protected boolean canAdoptCells() {
+    return false;
+  }
+
+  /**
+   * Take over the cell array of a text grid and convert the characters to cell values in
+   * place. The array keeps its layout: the cell at (row, column) is at index
+   * row * columnCount + column; the array may be longer than the grid.
+   *
+   * @param cells       The characters, one byte per character
+   * @param rowCount    The number of rows in the grid
+   * @param columnCount The number of columns in the grid
+   * @throws IllegalArgumentException When some of the characters can't be interpreted properly
+   * @throws UnsupportedOperationException When canAdoptCells() returns false
+   */
+  protected void adoptCells(byte[] cells, int rowCount, int columnCount)
+      throws IllegalArgumentException, UnsupportedOperationException {
+    throw new UnsupportedOperationException("This grid can't adopt the cells of a text grid");
+  }
+
   /**
    * Set value of a specific cell from the char value in the string grid.
    *
@@ -45,4 +140,80 @@ public abstract class ConvertedGrid {
    * @param columnCount number of columns in the grid
    */
   protected abstract void createEmptyGrid(int rowCount, int columnCount);
+
+  /**
+   * Get the number of rows stored in the grid.
+   *
+   * @return The number of rows. Zero when grid is empty.
+   */
+  public abstract int getRowCount();
+
+  /**
+   * Get the number of columns in the grid.
+   *
+   * @return The number of columns, zero the grid is empty.
+   */
+  public abstract int getColumnCount();
+
+  /**
+   * Get a parallel stream of all row indices. The rows are split among the worker threads in
+   * chunks of at least chunkSize rows.
+   *
+   * @param chunkSize The minimum number of rows processed as one task
+   * @return Parallel, ordered stream of row indices
+   * @throws IllegalArgumentException When the chunk size is not positive
+   */
+  public IntStream parallelRows(int chunkSize) throws IllegalArgumentException {
+    return StreamSupport.intStream(new IndexRangeSpliterator(0, getRowCount(), chunkSize), true);
+  }
+
+  /**
+   * Get a parallel stream of all column indices. The columns are split among the worker
+   * threads in chunks of at least chunkSize columns.
+   *
+   * @param chunkSize The minimum number of columns processed as one task
+   * @return Parallel, ordered stream of column indices
+   * @throws IllegalArgumentException When the chunk size is not positive
+   */
+  public IntStream parallelColumns(int chunkSize) throws IllegalArgumentException {
+    return StreamSupport.intStream(new IndexRangeSpliterator(0, getColumnCount(), chunkSize),
+        true);
+  }
+
+  /**
+   * Calculate a result for each row in parallel, combine the results. The results are
+   * combined in the order of the rows: with an associative combiner the result is the same
+   * as in a sequential loop, whatever the number of threads.
+   *
+   * @param identity  The result for a grid without rows, must be neutral for the combiner
+   * @param rowMapper Calculates the result for one row, given the row index. Must not modify
+   *                  data shared with other rows.
+   * @param combiner  Combines the results of two neighbouring parts of the grid
+   * @param chunkSize The minimum number of rows processed as one task
+   * @param <T>       The type of the result
+   * @return The combined result of all rows
+   * @throws IllegalArgumentException When the chunk size is not positive
+   */
+  public <T> T reduceRows(T identity, IntFunction<T> rowMapper, BinaryOperator<T> combiner,
+                          int chunkSize) throws IllegalArgumentException {
+    return parallelRows(chunkSize).mapToObj(rowMapper).reduce(identity, combiner);
+  }
+
+  /**
+   * Calculate a result for each column in parallel, combine the results. The results are
+   * combined in the order of the columns, see reduceRows().
+   *
+   * @param identity     The result for a grid without columns, must be neutral for the combiner
+   * @param columnMapper Calculates the result for one column, given the column index. Must not
+   *                     modify data shared with other columns.
+   * @param combiner     Combines the results of two neighbouring parts of the grid
+   * @param chunkSize    The minimum number of columns processed as one task
+   * @param <T>          The type of the result
+   * @return The combined result of all columns
+   * @throws IllegalArgumentException When the chunk size is not positive
+   */
+  public <T> T reduceColumns(T identity, IntFunction<T> columnMapper, BinaryOperator<T> combiner,
+                             int chunkSize) throws IllegalArgumentException {
+    return parallelColumns(chunkSize).mapToObj(columnMapper).reduce(identity, combiner);
+  }
 }
@@ -0,0 +1,69 @@
+package tools;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Spliterator over a range of indices. The range is split in halves until the parts are not
+ * longer than the chunk size, so that each parallel task processes at least one chunk.
+ */
+class IndexRangeSpliterator implements Spliterator.OfInt {
+  private int from;
+  private final int to;
+  private final int chunkSize;
+
+  /**
+   * Create a spliterator over the given range.
+   *
+   * @param from      The first index (inclusive)
+   * @param to        The last index (exclusive)
+   * @param chunkSize The minimum number of indices which are not split any further
+   * @throws IllegalArgumentException When the chunk size is not positive
+   */
+  IndexRangeSpliterator(int from, int to, int chunkSize) throws IllegalArgumentException {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+    }
+    this.from = from;
+    this.to = to;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public OfInt trySplit() {
+    int size = to - from;
+    if (size <= chunkSize) {
+      return null;
+    }
+    int middle = from + size / 2;
+    Spliterator.OfInt prefix = new IndexRangeSpliterator(from, middle, chunkSize);
+    from = middle;
+    return prefix;
+  }
+
+  @Override
+  public boolean tryAdvance(IntConsumer action) {
+    if (from >= to) {
+      return false;
+    }
+    action.accept(from++);
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(IntConsumer action) {
+    while (from < to) {
+      action.accept(from++);
+    }
+  }
+
+  @Override
+  public long estimateSize() {
+    return Math.max(0, to - from);
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+  }
+}
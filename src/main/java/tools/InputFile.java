@@ -1,36 +1,250 @@
 package tools;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.LinkedList;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Handles input-data files.
+ * Handles input data. The data is read from a file, a stream (standard input, for example) or
+ * a memory buffer, with the same reading API. A file is searched in the working directory first,
+ * then among the classpath resources. Input compressed with GZIP or zlib is decoded
+ * transparently. When reading fails, the read methods throw UncheckedIOException.
  */
-public class InputFile {
+public class InputFile implements AutoCloseable {
+  /**
+   * The filename which stands for the standard input, see fromArguments().
+   */
+  public static final String STANDARD_INPUT_NAME = "-";
+
+  /**
+   * The value returned by readLineAsLong() when the line is empty or end of file is reached.
+   * This value can't be read as a number: a line containing it is rejected by
+   * readLineAsLong(), use readLine() for inputs which may contain it.
+   */
+  public static final long NO_NUMBER = Long.MIN_VALUE;
+
+  /**
+   * When this system property is set to true, parsed data can be stored in binary snapshot
+   * files next to the input files, see readWithSnapshot().
+   */
+  public static final String SNAPSHOT_PROPERTY = "advent.snapshots";
+
+  /**
+   * The maximum number of bytes mapped into memory at once in memory-mapped mode can be
+   * reduced with this system property. Lines longer than the window can't be read. Meant for
+   * testing the window moves on small files.
+   */
+  public static final String MAP_WINDOW_PROPERTY = "advent.mapWindowSize";
+
+  private static final int INITIAL_GROUP_CAPACITY = 256;
+  private static final int DECODE_BUFFER_SIZE = 1 << 16;
+  private static final int READ_AHEAD_BATCH_SIZE = 1024;
+  private static final int READ_AHEAD_BATCH_COUNT = 16;
+
   private boolean exists;
-  private BufferedReader reader;
+  private Path path;
+  private LineSource source;
+  private Compression compression = Compression.NONE;
+  private TimedInputStream decoder;
   private boolean endOfFileReached;
 
   final char[] charBuffer = new char[1];
 
   /**
-   * Open an input file for reading.
+   * Open an input file for reading, using a buffered reader.
    *
    * @param filename The name of the input file
    */
   public InputFile(String filename) {
+    this(filename, ReadMode.BUFFERED);
+  }
+
+  /**
+   * Open an input file for reading. Compressed files are always read as a stream, they can't
+   * be memory-mapped.
+   *
+   * @param filename The name of the input file
+   * @param mode     The way the file will be read
+   */
+  public InputFile(String filename, ReadMode mode) {
     try {
-      reader = new BufferedReader(new FileReader(filename));
+      path = findFile(filename);
+      if (path != null && mode == ReadMode.MEMORY_MAPPED
+          && Compression.detect(path) == Compression.NONE) {
+        source = openMapped(path);
+      } else {
+        source = openStream(path != null ? Files.newInputStream(path) : openResource(filename));
+      }
       exists = true;
-    } catch (FileNotFoundException e) {
+    } catch (IOException e) {
       exists = false;
     }
   }
 
+  private InputFile() {
+  }
+
+  /**
+   * Read input from a stream, for example the output of another program. Compressed data
+   * is detected and decoded. The stream is closed when this input file is closed.
+   *
+   * @param stream The stream to read
+   * @return The input file reading from the stream
+   */
+  public static InputFile fromStream(InputStream stream) {
+    InputFile inputFile = new InputFile();
+    try {
+      inputFile.source = inputFile.openStream(stream);
+      inputFile.exists = true;
+    } catch (IOException e) {
+      inputFile.exists = false;
+    }
+    return inputFile;
+  }
+
+  /**
+   * Read input from the standard input of the process.
+   *
+   * @return The input file reading from the standard input
+   */
+  public static InputFile fromStandardInput() {
+    return fromStream(System.in);
+  }
+
+  /**
+   * Read input from bytes in memory. Uncompressed data is read directly from the array,
+   * the same way as a memory-mapped file: no strings are created for the line views.
+   * The array must not be modified while it is being read.
+   *
+   * @param data The input data, as bytes of an ASCII text, or compressed text
+   * @return The input file reading from the array
+   */
+  public static InputFile fromBytes(byte[] data) {
+    if (Compression.detect(data) != Compression.NONE) {
+      return fromStream(new ByteArrayInputStream(data));
+    }
+    InputFile inputFile = new InputFile();
+    inputFile.source = new ByteBufferLineSource(ByteBuffer.wrap(data));
+    inputFile.exists = true;
+    return inputFile;
+  }
+
+  /**
+   * Read input from a string in memory.
+   *
+   * @param text The input text
+   * @return The input file reading from the text
+   */
+  public static InputFile fromString(String text) {
+    InputFile inputFile = new InputFile();
+    inputFile.source = new ReaderLineSource(new StringReader(text));
+    inputFile.exists = true;
+    return inputFile;
+  }
+
+  /**
+   * Open the input chosen on the command line of a solver, using a buffered reader.
+   *
+   * @param args            Command line arguments. The first argument, when present, is the
+   *                        name of the input file; STANDARD_INPUT_NAME means standard input
+   * @param defaultFilename The name of the input file used when there are no arguments
+   * @return The input file
+   */
+  public static InputFile fromArguments(String[] args, String defaultFilename) {
+    return fromArguments(args, defaultFilename, ReadMode.BUFFERED);
+  }
+
+  /**
+   * Open the input chosen on the command line of a solver.
+   *
+   * @param args            Command line arguments. The first argument, when present, is the
+   *                        name of the input file; STANDARD_INPUT_NAME means standard input
+   * @param defaultFilename The name of the input file used when there are no arguments
+   * @param mode            The way a file will be read, ignored for standard input
+   * @return The input file
+   */
+  public static InputFile fromArguments(String[] args, String defaultFilename, ReadMode mode) {
+    String filename = args.length > 0 ? args[0] : defaultFilename;
+    if (STANDARD_INPUT_NAME.equals(filename)) {
+      return fromStandardInput();
+    }
+    return new InputFile(filename, mode);
+  }
+
+  /**
+   * Find the file in the working directory, or among the classpath resources.
+   *
+   * @param filename The name of the file
+   * @return Path to the file; null when the file is not found or it is not a regular file
+   *     (a resource inside a jar, for example)
+   */
+  private static Path findFile(String filename) {
+    try {
+      Path path = Path.of(filename);
+      if (Files.isRegularFile(path)) {
+        return path;
+      }
+      URL resource = InputFile.class.getClassLoader().getResource(filename);
+      if (resource != null && "file".equals(resource.getProtocol())) {
+        return Path.of(resource.toURI());
+      }
+    } catch (InvalidPathException | URISyntaxException e) {
+      // Not a valid file path, can still be a resource
+    }
+    return null;
+  }
+
+  private static LineSource openMapped(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    return new MappedLineSource(channel, 0, channel.size());
+  }
+
+  private static InputStream openResource(String filename) throws IOException {
+    InputStream stream = InputFile.class.getClassLoader().getResourceAsStream(filename);
+    if (stream == null) {
+      throw new FileNotFoundException("Input file not found: " + filename);
+    }
+    return stream;
+  }
+
+  /**
+   * Create a line source for a stream. Detect whether the stream is compressed, decode it
+   * if necessary.
+   *
+   * @param stream The stream of raw bytes
+   * @return The line source
+   * @throws IOException When the stream can't be read or the compressed data is invalid
+   */
+  private LineSource openStream(InputStream stream) throws IOException {
+    BufferedInputStream bufferedStream = new BufferedInputStream(stream, DECODE_BUFFER_SIZE);
+    compression = Compression.detect(bufferedStream);
+    InputStream decodedStream = bufferedStream;
+    if (compression != Compression.NONE) {
+      decoder = new TimedInputStream(compression.decode(bufferedStream, DECODE_BUFFER_SIZE));
+      decodedStream = decoder;
+    }
+    return new ReaderLineSource(new InputStreamReader(decodedStream));
+  }
+
   /**
    * Returns the "existence of the file".
    *
@@ -40,16 +254,131 @@ public class InputFile {
     return exists;
   }
 
+  /**
+   * Get parsed data of the whole file, using a binary snapshot when possible. When the system
+   * property SNAPSHOT_PROPERTY is set to true and a snapshot created from the same file
+   * content exists, the data is read from the snapshot and the text is not parsed at all.
+   * Otherwise, the parser is called and the parsed data is stored in a new snapshot.
+   * Must be called before anything else is read from the file. After this call the file is
+   * considered fully read.
+   *
+   * @param name   Name of the parsed structure, used in the snapshot filename
+   * @param codec  The codec for storing the parsed data in binary format
+   * @param parser The parser which reads the data from this file
+   * @param <T>    The type of the parsed data
+   * @return The parsed data
+   */
+  public <T> T readWithSnapshot(String name, SnapshotCodec<T> codec,
+                                Function<InputFile, T> parser) {
+    if (path == null || !Boolean.getBoolean(SNAPSHOT_PROPERTY)) {
+      return parser.apply(this);
+    }
+
+    InputSnapshot snapshot = new InputSnapshot(path, name);
+    T value = snapshot.load(codec);
+    if (value == null) {
+      value = parser.apply(this);
+      snapshot.save(value, codec);
+    } else {
+      // The text is not needed: release the file (and the read-ahead thread, if any) now
+      close();
+      source = new ByteBufferLineSource(ByteBuffer.allocate(0));
+    }
+    endOfFileReached = true;
+    return value;
+  }
+
+  /**
+   * Get the compression format of the file.
+   *
+   * @return The compression, NONE for plain text files
+   */
+  public Compression getCompression() {
+    return compression;
+  }
+
+  /**
+   * Get the time spent decoding the compressed data so far. The rest of the time is spent
+   * on reading the decoded text and parsing it.
+   *
+   * @return The decoding time in nanoseconds; zero for files which are not compressed
+   */
+  public long getDecodeTimeNanos() {
+    return decoder != null ? decoder.getNanos() : 0;
+  }
+
   /**
    * Read one line of text from the input file, try to interpret it as an integer.
    *
    * @return The number value; or empty value if the line was empty or end of file is reached
    */
   public IntegerOrEmpty readLineAsInteger() {
-    String value = readLineAndDetectEnd();
+    CharSequence value = readLineViewAndDetectEnd();
     return value != null ? convertToInt(value) : IntegerOrEmpty.empty;
   }
 
+  /**
+   * Read one line of text from the input file, interpret it as a long integer. No objects are
+   * created for the line in memory-mapped mode.
+   *
+   * @return The number value; or NO_NUMBER if the line was empty or end of file is reached
+   * @throws NumberFormatException When the line is not an integer, or it is equal to NO_NUMBER
+   *                               and could not be told apart from an empty line
+   */
+  public long readLineAsLong() throws NumberFormatException {
+    CharSequence value = readLineViewAndDetectEnd();
+    if (value == null || value.length() == 0) {
+      return NO_NUMBER;
+    }
+    long number = parseLong(value);
+    if (number == NO_NUMBER) {
+      throw new NumberFormatException("Value reserved for NO_NUMBER: " + value);
+    }
+    return number;
+  }
+
+  /**
+   * Read all the remaining lines as groups of integers. The groups are separated by
+   * an empty line. Sum up the numbers in each group.
+   *
+   * @return The sum of the numbers for each group, in the order of the groups in the file
+   * @throws NumberFormatException When a non-empty line is not an integer
+   */
+  public long[] readAllGroupSums() throws NumberFormatException {
+    long[] sums = new long[INITIAL_GROUP_CAPACITY];
+    int groupCount = 0;
+    long sum = 0;
+    boolean groupStarted = false;
+    CharSequence line = readLineViewAndDetectEnd();
+    while (line != null) {
+      if (line.length() > 0) {
+        sum += parseLong(line);
+        groupStarted = true;
+      } else {
+        sums = addToArray(sums, groupCount++, sum);
+        sum = 0;
+        groupStarted = false;
+      }
+      line = readLineViewAndDetectEnd();
+    }
+    if (groupStarted) {
+      sums = addToArray(sums, groupCount++, sum);
+    }
+    return Arrays.copyOf(sums, groupCount);
+  }
+
+  private static long[] addToArray(long[] array, int index, long value) {
+    if (index == array.length) {
+      array = Arrays.copyOf(array, array.length * 2);
+    }
+    array[index] = value;
+    return array;
+  }
+
+  private static long parseLong(CharSequence s) throws NumberFormatException {
+    return Long.parseLong(s, 0, s.length(), 10);
+  }
+
   /**
    * Read one line from the input file.
    *
@@ -59,27 +388,61 @@ public class InputFile {
     return readLineAndDetectEnd();
   }
 
-  private static IntegerOrEmpty convertToInt(String s) {
-    if (s == null || s.equals("")) {
+  /**
+   * Read one line from the input file, as a view. In memory-mapped mode no string is created,
+   * the view points directly to the bytes of the file.
+   *
+   * @return The line, null when end is reached. The returned object may be reused: it is
+   *     valid only until the next read operation on this file.
+   */
+  public CharSequence readLineView() {
+    return readLineViewAndDetectEnd();
+  }
+
+  private static IntegerOrEmpty convertToInt(CharSequence s) {
+    if (s == null || s.length() == 0) {
       return IntegerOrEmpty.empty;
     }
-    return IntegerOrEmpty.fromValue(Long.valueOf(s));
+    return IntegerOrEmpty.fromValue(parseLong(s));
   }
 
   /**
    * Read one line of text from the file and detect whether end of file has been reached.
    *
-   * @return The line or null if end is reached (or an error happens)
+   * @return The line or null if end is reached
+   * @throws UncheckedIOException When reading fails. End of file is marked as reached.
    */
-  private String readLineAndDetectEnd() {
+  private String readLineAndDetectEnd() throws UncheckedIOException {
     String value = null;
     try {
-      value = reader.readLine();
-      if (value == null) {
-        endOfFileReached = true;
-      }
+      value = source.readLine();
     } catch (IOException e) {
       endOfFileReached = true;
+      throw new UncheckedIOException(e);
+    }
+    if (value == null) {
+      endOfFileReached = true;
+    }
+    return value;
+  }
+
+  /**
+   * Read one line of text from the file as a view and detect whether end of file has
+   * been reached.
+   *
+   * @return The line or null if end is reached
+   * @throws UncheckedIOException When reading fails. End of file is marked as reached.
+   */
+  private CharSequence readLineViewAndDetectEnd() throws UncheckedIOException {
+    CharSequence value = null;
+    try {
+      value = source.readLineView();
+    } catch (IOException e) {
+      endOfFileReached = true;
+      throw new UncheckedIOException(e);
+    }
+    if (value == null) {
+      endOfFileReached = true;
     }
     return value;
   }
@@ -109,6 +472,23 @@ public class InputFile {
     return buffer;
   }
 
+  /**
+   * Read all lines from the input file directly into one contiguous text grid, without
+   * creating a string for each row. The rows are checked for equal length while reading.
+   *
+   * @return The file content as a TextGrid
+   * @throws IllegalArgumentException When the rows have different lengths or a row is empty
+   */
+  public TextGrid readAllIntoTextGrid() throws IllegalArgumentException {
+    TextGrid grid = new TextGrid();
+    CharSequence line = readLineViewAndDetectEnd();
+    while (line != null) {
+      grid.appendRow(line);
+      line = readLineViewAndDetectEnd();
+    }
+    return grid;
+  }
+
   /**
    * Read one line of input, expect it to be empty. If end of file is reached, do
    * nothing (no exception).
@@ -128,7 +508,7 @@ public class InputFile {
    * @return The lines as a list, not including the empty line
    */
   public List<String> readLinesUntilEmptyLine() {
-    List<String> lines = new LinkedList<>();
+    List<String> lines = new ArrayList<>();
     String line = readLine();
     while (!isEndOfFile() && line != null && !"".equals(line)) {
       lines.add(line);
@@ -137,21 +517,104 @@ public class InputFile {
     return lines;
   }
 
+  /**
+   * Read lines from the input file until an empty line (or end of file) is reached. The lines
+   * are stored compactly in one block, with constant-time access to any line and character.
+   * No string is created per line in memory-mapped mode.
+   *
+   * @return The lines as a block, not including the empty line
+   */
+  public LineBlock readBlockUntilEmptyLine() {
+    LineBlock block = new LineBlock();
+    CharSequence line = readLineViewAndDetectEnd();
+    while (line != null && line.length() > 0) {
+      block.appendLine(line);
+      line = readLineViewAndDetectEnd();
+    }
+    return block;
+  }
+
+  /**
+   * Get a parallel stream of all the remaining lines in the file, for inputs where every line
+   * can be processed independently. In memory-mapped mode the file is split into regions
+   * aligned on line boundaries, and each region is read by a separate thread. In buffered mode
+   * the lines are read sequentially and only the processing of the lines is parallel.
+   * After this call the file is considered fully read: the lines must not be read in any
+   * other way.
+   *
+   * @return A parallel, ordered stream of the remaining lines
+   * @throws UncheckedIOException When the lines can't be read
+   */
+  public Stream<String> parallelLines() throws UncheckedIOException {
+    try {
+      Stream<String> lines = StreamSupport.stream(source.remainingLines(), true);
+      endOfFileReached = true;
+      return lines;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   /**
    * Read one character from the file.
    *
    * @return The character or null when end of file is reached
    */
   public Character readOneChar() {
-    Character result = null;
+    int n = read(charBuffer, 0, 1);
+    return n == 1 ? charBuffer[0] : null;
+  }
+
+  /**
+   * Read characters from the file into a buffer provided by the caller. Use this instead of
+   * readOneChar() when scanning through a long stream of characters.
+   *
+   * @param buffer The buffer where the characters will be stored
+   * @param offset Index in the buffer where the first character will be stored
+   * @param length The maximum number of characters to read
+   * @return The number of characters read; -1 when end of file is reached
+   * @throws UncheckedIOException When reading fails. End of file is marked as reached.
+   */
+  public int read(char[] buffer, int offset, int length) throws UncheckedIOException {
+    int n;
     try {
-      int n = reader.read(charBuffer, 0, 1);
-      if (n == 1) {
-        result = charBuffer[0];
-      }
+      n = source.read(buffer, offset, length);
     } catch (IOException e) {
-      // Will return null
+      endOfFileReached = true;
+      throw new UncheckedIOException(e);
+    }
+    if (n < 0) {
+      endOfFileReached = true;
+    }
+    return n;
+  }
+
+  /**
+   * Start reading the file ahead in a background thread, so that reading from the disk
+   * overlaps with processing the lines. The lines are passed to this object in batches, through
+   * a bounded queue: the background thread stops reading when the consumer falls behind.
+   * Read errors in the background thread are thrown to the consumer when it reaches the failed
+   * line. Call close() when the file is not read until the end.
+   */
+  public void enableReadAhead() {
+    if (exists) {
+      source = new ReadAheadLineSource(source, READ_AHEAD_BATCH_SIZE, READ_AHEAD_BATCH_COUNT);
+    }
+  }
+
+  /**
+   * Close the file, stop the read-ahead thread (if any).
+   *
+   * @throws UncheckedIOException When closing the file fails
+   */
+  @Override
+  public void close() throws UncheckedIOException {
+    if (exists) {
+      try {
+        source.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
     }
-    return result;
   }
 }
@@ -0,0 +1,135 @@
+package tools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * A binary snapshot of parsed input data, stored next to the input file. The snapshot header
+ * contains the SHA-256 hash of the input file content: the snapshot is used only when the
+ * input file has not changed since the snapshot was written. The header also contains the
+ * identifier and the format version of the codec which wrote the data: the snapshot is read only
+ * by the same codec, in the same version.
+ */
+class InputSnapshot {
+  // Changed when the header layout changes, older snapshots are then ignored
+  private static final int MAGIC = 0x41443233;
+  private static final int HASH_BUFFER_SIZE = 1 << 16;
+
+  private final Path inputPath;
+  private final Path snapshotPath;
+  private final String name;
+  private byte[] contentHash;
+
+  /**
+   * Create a snapshot handle for the given input file.
+   *
+   * @param inputPath Path of the input file
+   * @param name      Name of the parsed structure, several snapshots can be stored for the
+   *                  same input file
+   */
+  InputSnapshot(Path inputPath, String name) {
+    this.inputPath = inputPath;
+    this.name = name;
+    this.snapshotPath = inputPath.resolveSibling(inputPath.getFileName() + "." + name
+        + ".snapshot");
+  }
+
+  /**
+   * Load the value from the snapshot.
+   *
+   * @param codec The codec which reads the binary data
+   * @param <T>   The type of the value
+   * @return The stored value; null if there is no snapshot or it is outdated or broken
+   */
+  <T> T load(SnapshotCodec<T> codec) {
+    if (!Files.isRegularFile(snapshotPath)) {
+      return null;
+    }
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+        Files.newInputStream(snapshotPath)))) {
+      if (in.readInt() != MAGIC || !name.equals(in.readUTF())
+          || !codec.getId().equals(in.readUTF()) || in.readInt() != codec.getVersion()) {
+        return null;
+      }
+      byte[] storedHash = new byte[in.readUnsignedByte()];
+      in.readFully(storedHash);
+      if (!Arrays.equals(storedHash, getContentHash())) {
+        return null;
+      }
+      return codec.read(in);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Save the value in the snapshot. Errors are ignored: without a snapshot the input will
+   * simply be parsed again next time.
+   *
+   * @param value The value to store
+   * @param codec The codec which writes the binary data
+   * @param <T>   The type of the value
+   */
+  <T> void save(T value, SnapshotCodec<T> codec) {
+    Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+          Files.newOutputStream(temporaryPath)))) {
+        byte[] hash = getContentHash();
+        out.writeInt(MAGIC);
+        out.writeUTF(name);
+        out.writeUTF(codec.getId());
+        out.writeInt(codec.getVersion());
+        out.writeByte(hash.length);
+        out.write(hash);
+        codec.write(value, out);
+      }
+      Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      try {
+        Files.deleteIfExists(temporaryPath);
+      } catch (IOException ignored) {
+        // Nothing more we can do
+      }
+    }
+  }
+
+  private byte[] getContentHash() throws IOException {
+    if (contentHash == null) {
+      contentHash = calculateContentHash();
+    }
+    return contentHash;
+  }
+
+  private byte[] calculateContentHash() throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException("SHA-256 not supported", e);
+    }
+
+    try (FileChannel channel = FileChannel.open(inputPath, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+      while (channel.read(buffer) >= 0) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+      }
+    }
+    return digest.digest();
+  }
+}
@@ -11,6 +11,7 @@ public class IntegerGrid extends ConvertedGrid {
    *
    * @return The number of rows. Zero when grid is empty.
    */
+  @Override
   public int getRowCount() {
     return grid.length;
   }
@@ -20,6 +21,7 @@ public class IntegerGrid extends ConvertedGrid {
    *
    * @return The number of columns, zero the grid is empty.
    */
+  @Override
   public int getColumnCount() {
     if (grid.length == 0) {
       return 0;
@@ -41,11 +43,50 @@ public class IntegerGrid extends ConvertedGrid {
 
   @Override
   protected void setCellValueFromChar(int row, int column, char c) throws IllegalArgumentException {
-    try {
-      grid[row][column] = Integer.parseInt("" + c);
-    } catch (NumberFormatException e) {
+    int digit = c - '0';
+    if (digit < 0 || digit > 9) {
       throw new IllegalArgumentException("Invalid integer value in the grid: " + c);
     }
+    grid[row][column] = digit;
+  }
+
+  @Override
+  protected void setRowFromChars(int row, char[] source, int offset, int length)
+      throws IllegalArgumentException {
+    int[] values = grid[row];
+    // Any character outside '0'..'9' makes one of the two terms negative. A single check
+    // after the loop keeps the loop free of branches.
+    int invalidBits = 0;
+    for (int j = 0; j < length; ++j) {
+      int digit = source[offset + j] - '0';
+      values[j] = digit;
+      invalidBits |= digit | (9 - digit);
+    }
+    assertDigits(invalidBits, values);
+  }
+
+  @Override
+  protected void setRowFromChars(int row, byte[] source, int offset, int length)
+      throws IllegalArgumentException {
+    int[] values = grid[row];
+    int invalidBits = 0;
+    for (int j = 0; j < length; ++j) {
+      int digit = (source[offset + j] & 0xFF) - '0';
+      values[j] = digit;
+      invalidBits |= digit | (9 - digit);
+    }
+    assertDigits(invalidBits, values);
+  }
+
+  private static void assertDigits(int invalidBits, int[] values) throws IllegalArgumentException {
+    if (invalidBits < 0) {
+      for (int value : values) {
+        if (value < 0 || value > 9) {
+          throw new IllegalArgumentException("Invalid integer value in the grid: "
+              + (char) (value + '0'));
+        }
+      }
+    }
   }
 
   @Override
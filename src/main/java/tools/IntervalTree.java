@@ -0,0 +1,262 @@
+package tools;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A collection of integer ranges which may overlap, indexed for stabbing queries (which ranges
+ * contain value v) and overlap queries (which ranges overlap range r). Implemented as an AVL
+ * tree ordered by range start, where every node also stores the highest range end within its
+ * subtree: a query skips every subtree which ends before the queried values. Insertion and
+ * deletion take O(log n) time, a query takes O(log n + k) time, where k is the number of
+ * ranges found. The same range can be stored several times.
+ */
+public class IntervalTree {
+  private Node root;
+  private int size = 0;
+
+  /**
+   * A tree node, holding all the copies of one range.
+   */
+  private static class Node {
+    final int start;
+    final int end;
+    int count = 1;
+    int height = 1;
+    int maxEnd;
+    Node left;
+    Node right;
+
+    Node(int start, int end) {
+      this.start = start;
+      this.end = end;
+      this.maxEnd = end;
+    }
+
+    int compareTo(int otherStart, int otherEnd) {
+      return start != otherStart ? Integer.compare(start, otherStart)
+          : Integer.compare(end, otherEnd);
+    }
+  }
+
+  /**
+   * Add a range to the tree. The range is copied: changing it later does not affect the tree.
+   *
+   * @param range The range to add
+   */
+  public void insert(IntegerRange range) {
+    root = insert(root, range.getStart(), range.getEnd());
+    size++;
+  }
+
+  private Node insert(Node node, int start, int end) {
+    if (node == null) {
+      return new Node(start, end);
+    }
+    int comparison = node.compareTo(start, end);
+    if (comparison == 0) {
+      node.count++;
+      return node;
+    } else if (comparison > 0) {
+      node.left = insert(node.left, start, end);
+    } else {
+      node.right = insert(node.right, start, end);
+    }
+    return rebalance(node);
+  }
+
+  /**
+   * Remove one copy of a range from the tree.
+   *
+   * @param range The range to remove
+   * @return True if the range was found and removed, false if it was not in the tree
+   */
+  public boolean delete(IntegerRange range) {
+    int sizeBefore = size;
+    root = delete(root, range.getStart(), range.getEnd());
+    return size < sizeBefore;
+  }
+
+  private Node delete(Node node, int start, int end) {
+    if (node == null) {
+      return null;
+    }
+    int comparison = node.compareTo(start, end);
+    if (comparison > 0) {
+      node.left = delete(node.left, start, end);
+    } else if (comparison < 0) {
+      node.right = delete(node.right, start, end);
+    } else {
+      size--;
+      if (node.count > 1) {
+        node.count--;
+        return node;
+      }
+      if (node.left == null || node.right == null) {
+        return node.left != null ? node.left : node.right;
+      }
+      Node successor = node.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      Node replacement = new Node(successor.start, successor.end);
+      replacement.count = successor.count;
+      replacement.left = node.left;
+      replacement.right = removeLowest(node.right);
+      node = replacement;
+    }
+    return rebalance(node);
+  }
+
+  private Node removeLowest(Node node) {
+    if (node.left == null) {
+      return node.right;
+    }
+    node.left = removeLowest(node.left);
+    return rebalance(node);
+  }
+
+  /**
+   * Get the number of ranges in the tree, each copy of the same range counted separately.
+   *
+   * @return The number of ranges
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Check whether the tree is empty.
+   *
+   * @return True when there are no ranges in the tree
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Find all the ranges containing the value v.
+   *
+   * @param v The value to look for
+   * @return The ranges containing v, sorted by start and end. Empty list if none found.
+   */
+  public List<IntegerRange> findContaining(int v) {
+    return findOverlapping(v, v);
+  }
+
+  /**
+   * Find all the ranges overlapping with range r (having at least one common value with it).
+   *
+   * @param r The range to check
+   * @return The ranges overlapping with r, sorted by start and end. Empty list if none found.
+   */
+  public List<IntegerRange> findOverlapping(IntegerRange r) {
+    return findOverlapping(r.getStart(), r.getEnd());
+  }
+
+  private List<IntegerRange> findOverlapping(int start, int end) {
+    List<IntegerRange> result = new ArrayList<>();
+    collectOverlapping(root, start, end, result);
+    return result;
+  }
+
+  private void collectOverlapping(Node node, int start, int end, List<IntegerRange> result) {
+    if (node == null || node.maxEnd < start) {
+      return;
+    }
+    collectOverlapping(node.left, start, end, result);
+    // Nodes on the right start even later, no need to look there when this one is too late
+    if (node.start <= end) {
+      if (node.end >= start) {
+        for (int i = 0; i < node.count; ++i) {
+          result.add(new IntegerRange(node.start, node.end));
+        }
+      }
+      collectOverlapping(node.right, start, end, result);
+    }
+  }
+
+  /**
+   * Count the ranges containing the value v, without creating a list of them.
+   *
+   * @param v The value to look for
+   * @return The number of ranges containing v
+   */
+  public int countContaining(int v) {
+    return countOverlapping(root, v, v);
+  }
+
+  /**
+   * Count the ranges overlapping with range r, without creating a list of them.
+   *
+   * @param r The range to check
+   * @return The number of ranges overlapping with r
+   */
+  public int countOverlapping(IntegerRange r) {
+    return countOverlapping(root, r.getStart(), r.getEnd());
+  }
+
+  private int countOverlapping(Node node, int start, int end) {
+    if (node == null || node.maxEnd < start) {
+      return 0;
+    }
+    int count = countOverlapping(node.left, start, end);
+    if (node.start <= end) {
+      if (node.end >= start) {
+        count += node.count;
+      }
+      count += countOverlapping(node.right, start, end);
+    }
+    return count;
+  }
+
+  private static int heightOf(Node node) {
+    return node != null ? node.height : 0;
+  }
+
+  private static void update(Node node) {
+    node.height = 1 + Math.max(heightOf(node.left), heightOf(node.right));
+    node.maxEnd = node.end;
+    if (node.left != null) {
+      node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
+    }
+    if (node.right != null) {
+      node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
+    }
+  }
+
+  private static Node rebalance(Node node) {
+    update(node);
+    int balance = heightOf(node.left) - heightOf(node.right);
+    if (balance > 1) {
+      if (heightOf(node.left.left) < heightOf(node.left.right)) {
+        node.left = rotateLeft(node.left);
+      }
+      return rotateRight(node);
+    } else if (balance < -1) {
+      if (heightOf(node.right.right) < heightOf(node.right.left)) {
+        node.right = rotateRight(node.right);
+      }
+      return rotateLeft(node);
+    }
+    return node;
+  }
+
+  private static Node rotateRight(Node node) {
+    Node newRoot = node.left;
+    node.left = newRoot.right;
+    newRoot.right = node;
+    update(node);
+    update(newRoot);
+    return newRoot;
+  }
+
+  private static Node rotateLeft(Node node) {
+    Node newRoot = node.right;
+    node.right = newRoot.left;
+    newRoot.left = node;
+    update(node);
+    update(newRoot);
+    return newRoot;
+  }
+}
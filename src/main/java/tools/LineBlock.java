@@ -0,0 +1,103 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * A block of consecutive lines, stored compactly: all the characters in a single array, plus
+ * the start offset of each line. Any line and any character can be accessed in constant time.
+ */
+public class LineBlock {
+  private static final int INITIAL_CHAR_CAPACITY = 1024;
+  private static final int INITIAL_LINE_CAPACITY = 16;
+
+  private char[] characters = new char[INITIAL_CHAR_CAPACITY];
+  // lineStarts[i] is the offset of line i; lineStarts[lineCount] is the end of the last line
+  private int[] lineStarts = new int[INITIAL_LINE_CAPACITY + 1];
+  private int lineCount = 0;
+
+  /**
+   * Append a line at the end of the block.
+   *
+   * @param line The line to append
+   */
+  public void appendLine(CharSequence line) {
+    int start = lineStarts[lineCount];
+    int end = start + line.length();
+    if (end > characters.length) {
+      characters = Arrays.copyOf(characters, Math.max(end, characters.length * 2));
+    }
+    for (int i = 0; i < line.length(); ++i) {
+      characters[start + i] = line.charAt(i);
+    }
+
+    if (lineCount + 2 > lineStarts.length) {
+      lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+    }
+    lineCount++;
+    lineStarts[lineCount] = end;
+  }
+
+  /**
+   * Get the number of lines in the block.
+   *
+   * @return The number of lines, zero for an empty block
+   */
+  public int getLineCount() {
+    return lineCount;
+  }
+
+  /**
+   * Check whether the block is empty.
+   *
+   * @return True when there are no lines in the block
+   */
+  public boolean isEmpty() {
+    return lineCount == 0;
+  }
+
+  /**
+   * Get the length of a line.
+   *
+   * @param lineIndex The index of the line, indexing starts at zero
+   * @return The number of characters in the line
+   * @throws IllegalArgumentException When the line index is invalid
+   */
+  public int getLineLength(int lineIndex) throws IllegalArgumentException {
+    assertLineWithinBlock(lineIndex);
+    return lineStarts[lineIndex + 1] - lineStarts[lineIndex];
+  }
+
+  /**
+   * Get a line as a string.
+   *
+   * @param lineIndex The index of the line, indexing starts at zero
+   * @return The line
+   * @throws IllegalArgumentException When the line index is invalid
+   */
+  public String getLine(int lineIndex) throws IllegalArgumentException {
+    assertLineWithinBlock(lineIndex);
+    int start = lineStarts[lineIndex];
+    return new String(characters, start, lineStarts[lineIndex + 1] - start);
+  }
+
+  /**
+   * Get a character at a specific position in a line.
+   *
+   * @param lineIndex   The index of the line, indexing starts at zero
+   * @param columnIndex The index of the character within the line
+   * @return The character
+   * @throws IllegalArgumentException When the line index or the column index is invalid
+   */
+  public char charAt(int lineIndex, int columnIndex) throws IllegalArgumentException {
+    if (columnIndex < 0 || columnIndex >= getLineLength(lineIndex)) {
+      throw new IllegalArgumentException("Column outside the line: " + columnIndex);
+    }
+    return characters[lineStarts[lineIndex] + columnIndex];
+  }
+
+  private void assertLineWithinBlock(int lineIndex) {
+    if (lineIndex < 0 || lineIndex >= lineCount) {
+      throw new IllegalArgumentException("Line outside the block: " + lineIndex);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package tools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A source of text lines and characters, used behind the InputFile.
+ */
+interface LineSource extends Closeable {
+  /**
+   * Read the next line, without the line terminator.
+   *
+   * @return The line or null when the end of the source is reached
+   * @throws IOException When reading fails
+   */
+  String readLine() throws IOException;
+
+  /**
+   * Read the next line as a view. The returned object may be reused by the source, therefore
+   * it is valid only until the next read operation.
+   *
+   * @return The line or null when the end of the source is reached
+   * @throws IOException When reading fails
+   */
+  CharSequence readLineView() throws IOException;
+
+  /**
+   * Read characters into the given buffer.
+   *
+   * @param buffer The buffer to fill
+   * @param offset The index in the buffer where the first character will be stored
+   * @param length The maximum number of characters to read
+   * @return The number of characters read, -1 when the end of the source is reached
+   * @throws IOException When reading fails
+   */
+  int read(char[] buffer, int offset, int length) throws IOException;
+
+  /**
+   * Get a spliterator over all the remaining lines. After this call the lines must be read
+   * only through the returned spliterator. The default implementation reads the lines
+   * sequentially, a parallel stream can only split it into batches of already-read lines.
+   *
+   * @return A spliterator of the remaining lines
+   * @throws IOException When the source can't provide the lines
+   */
+  default Spliterator<String> remainingLines() throws IOException {
+    return new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+        Spliterator.ORDERED | Spliterator.NONNULL) {
+      @Override
+      public boolean tryAdvance(Consumer<? super String> action) {
+        String line;
+        try {
+          line = readLine();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        if (line != null) {
+          action.accept(line);
+        }
+        return line != null;
+      }
+    };
+  }
+}
@@ -0,0 +1,24 @@
+package tools;
+
+/**
+ * Writes the log messages somewhere.
+ */
+interface LogAppender {
+  /**
+   * Write a message, as a separate line.
+   *
+   * @param message The message to write
+   */
+  void append(String message);
+
+  /**
+   * Wait until all the messages appended so far are written out.
+   */
+  void flush();
+
+  /**
+   * Write out all the messages and release the resources. No messages can be appended after
+   * closing.
+   */
+  void close();
+}
@@ -0,0 +1,32 @@
+package tools;
+
+/**
+ * Log levels, from the most detailed to none at all. When a level is chosen for the Logger,
+ * messages of that level and all the levels after it are printed.
+ */
+public enum LogLevel {
+  /** Detailed tracing, useful when debugging a solution. */
+  DEBUG,
+  /** Normal progress messages and the answers. */
+  INFO,
+  /** Nothing is printed. */
+  OFF;
+
+  /**
+   * Find a level by its name, ignoring the case.
+   *
+   * @param name         The name of the level, can be null
+   * @param defaultLevel The level returned when the name is null or invalid
+   * @return The level
+   */
+  public static LogLevel fromName(String name, LogLevel defaultLevel) {
+    if (name != null) {
+      for (LogLevel level : values()) {
+        if (level.name().equalsIgnoreCase(name.trim())) {
+          return level;
+        }
+      }
+    }
+    return defaultLevel;
+  }
+}
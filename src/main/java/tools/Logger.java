@@ -1,21 +1,158 @@
 package tools;
 
+import java.io.PrintStream;
+import java.util.function.Supplier;
+
 /**
  * Writes log messages to the default system output (console).
+ * Messages have a level (see LogLevel), only messages at the current level or above it are
+ * printed. The level is checked before the message is built: for the supplier versions of the
+ * methods, the supplier is not even called when the message would not be printed. The default
+ * level is INFO, it can be changed with the system property log.level (for example
+ * -Dlog.level=DEBUG) or with setLevel().
+ * By default the messages are written by a background thread, so that the callers don't wait
+ * for the console. Set the system property log.async=false to write the messages in the calling
+ * thread instead. All the pending messages are written out before the program exits.
  */
 public class Logger {
+  private static final int ASYNC_BUFFER_CAPACITY = 8192;
+
+  private static volatile LogLevel level =
+      LogLevel.fromName(System.getProperty("log.level"), LogLevel.INFO);
+  private static volatile boolean asynchronous =
+      !"false".equalsIgnoreCase(System.getProperty("log.async"));
+  private static volatile PrintStream output = System.out;
+  private static volatile LogAppender appender = createAppender();
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(Logger::flush, "log-flush"));
+  }
+
   /**
-   * Print an information message to the system output (console).
+   * Print an information message.
    *
    * @param message The message to print.
    */
   public static void info(String message) {
-    print(message);
+    log(LogLevel.INFO, message);
+  }
+
+  /**
+   * Print an information message, built only if it will be printed.
+   *
+   * @param messageSupplier Creates the message to print
+   */
+  public static void info(Supplier<String> messageSupplier) {
+    log(LogLevel.INFO, messageSupplier);
+  }
+
+  /**
+   * Print a debug message.
+   *
+   * @param message The message to print.
+   */
+  public static void debug(String message) {
+    log(LogLevel.DEBUG, message);
+  }
+
+  /**
+   * Print a debug message, built only if it will be printed. Use this when building the
+   * message is not free (string concatenation, formatting): when debugging is disabled, this
+   * costs only a level check.
+   *
+   * @param messageSupplier Creates the message to print
+   */
+  public static void debug(Supplier<String> messageSupplier) {
+    log(LogLevel.DEBUG, messageSupplier);
+  }
+
+  /**
+   * Check whether debug messages are printed. Use this to skip whole blocks of debugging code.
+   *
+   * @return True if debug messages are printed
+   */
+  public static boolean isDebugEnabled() {
+    return isEnabled(LogLevel.DEBUG);
+  }
+
+  /**
+   * Check whether messages of the given level are printed.
+   *
+   * @param messageLevel The level of the messages
+   * @return True if messages of this level are printed
+   */
+  public static boolean isEnabled(LogLevel messageLevel) {
+    return messageLevel != LogLevel.OFF && messageLevel.compareTo(level) >= 0;
+  }
+
+  /**
+   * Get the current log level.
+   *
+   * @return The lowest level of messages which are printed
+   */
+  public static LogLevel getLevel() {
+    return level;
+  }
+
+  /**
+   * Set the log level. Messages of lower levels are ignored, OFF disables all the logging.
+   *
+   * @param newLevel The lowest level of messages to print
+   */
+  public static void setLevel(LogLevel newLevel) {
+    level = newLevel;
+  }
+
+  /**
+   * Choose whether messages are written by a background thread or in the calling thread.
+   * The pending messages are written out before switching.
+   *
+   * @param async True to write the messages in a background thread
+   */
+  public static synchronized void setAsynchronous(boolean async) {
+    asynchronous = async;
+    replaceAppender();
+  }
+
+  /**
+   * Write the messages to another stream. The pending messages are written out to the
+   * previous stream before switching.
+   *
+   * @param newOutput The stream where the next messages are written
+   */
+  public static synchronized void setOutput(PrintStream newOutput) {
+    output = newOutput;
+    replaceAppender();
+  }
+
+  /**
+   * Wait until all the messages logged so far are written out.
+   */
+  public static void flush() {
+    appender.flush();
+  }
+
+  private static void log(LogLevel messageLevel, String message) {
+    if (isEnabled(messageLevel)) {
+      appender.append(message);
+    }
+  }
+
+  private static void log(LogLevel messageLevel, Supplier<String> messageSupplier) {
+    if (isEnabled(messageLevel)) {
+      appender.append(messageSupplier.get());
+    }
+  }
+
+  private static LogAppender createAppender() {
+    return asynchronous ? new AsyncLogAppender(output, ASYNC_BUFFER_CAPACITY)
+        : new ConsoleLogAppender(output);
   }
 
-  private static void print(String message) {
-    // Sorry, this still IS the easiest method to log to the console, fine for these problems ;)
-    System.out.println(message);
+  private static void replaceAppender() {
+    LogAppender previous = appender;
+    appender = createAppender();
+    previous.close();
   }
 
   // Not supposed to create an instance of this!
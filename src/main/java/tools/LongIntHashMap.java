@@ -0,0 +1,157 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * A map from primitive long keys (packed positions, for example) to int values. Uses open
+ * addressing with linear probing in parallel arrays: no objects are created per entry.
+ */
+public class LongIntHashMap {
+  // Marks an empty slot in the table. The entry for this key is stored in separate fields.
+  private static final long FREE_KEY = Long.MIN_VALUE;
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size = 0;
+  private boolean containsFreeKey = false;
+  private int freeKeyValue;
+
+  /**
+   * Create an empty map.
+   */
+  public LongIntHashMap() {
+    this(0);
+  }
+
+  /**
+   * Create an empty map for the expected number of entries.
+   *
+   * @param expectedSize The number of entries which can be added without resizing the map
+   */
+  public LongIntHashMap(int expectedSize) {
+    allocate(tableSizeFor(expectedSize));
+  }
+
+  /**
+   * Get the size of a table which keeps the load factor at most 1/2.
+   *
+   * @param expectedSize The number of entries
+   * @return The table size, a power of two
+   */
+  private static int tableSizeFor(int expectedSize) {
+    int tableSize = MIN_CAPACITY;
+    while (tableSize < 2L * expectedSize) {
+      tableSize <<= 1;
+    }
+    return tableSize;
+  }
+
+  private void allocate(int tableSize) {
+    keys = new long[tableSize];
+    values = new int[tableSize];
+    Arrays.fill(keys, FREE_KEY);
+    mask = tableSize - 1;
+  }
+
+  /**
+   * Store a value for the key, replacing the previous value.
+   *
+   * @param key   The key
+   * @param value The value
+   */
+  public void put(long key, int value) {
+    if (key == FREE_KEY) {
+      if (!containsFreeKey) {
+        containsFreeKey = true;
+        size++;
+      }
+      freeKeyValue = value;
+      return;
+    }
+
+    int index = findSlot(key);
+    if (keys[index] == FREE_KEY) {
+      keys[index] = key;
+      size++;
+    }
+    values[index] = value;
+    if (2 * size > keys.length) {
+      rehash();
+    }
+  }
+
+  /**
+   * Get the value stored for the key.
+   *
+   * @param key          The key
+   * @param defaultValue The value returned when the key is not in the map
+   * @return The stored value, or defaultValue
+   */
+  public int getOrDefault(long key, int defaultValue) {
+    if (key == FREE_KEY) {
+      return containsFreeKey ? freeKeyValue : defaultValue;
+    }
+    int index = findSlot(key);
+    return keys[index] != FREE_KEY ? values[index] : defaultValue;
+  }
+
+  /**
+   * Check whether the key is in the map.
+   *
+   * @param key The key
+   * @return True when a value is stored for the key
+   */
+  public boolean containsKey(long key) {
+    if (key == FREE_KEY) {
+      return containsFreeKey;
+    }
+    return keys[findSlot(key)] != FREE_KEY;
+  }
+
+  /**
+   * Get the number of entries in the map.
+   *
+   * @return The number of keys
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Remove all the entries. The allocated table is kept for reuse.
+   */
+  public void clear() {
+    Arrays.fill(keys, FREE_KEY);
+    size = 0;
+    containsFreeKey = false;
+  }
+
+  /**
+   * Find the slot of the key, or the free slot where the key would be stored.
+   *
+   * @param key The key, not FREE_KEY
+   * @return Index of the slot
+   */
+  private int findSlot(long key) {
+    int index = PackedPosition.hash(key) & mask;
+    while (keys[index] != FREE_KEY && keys[index] != key) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  private void rehash() {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(keys.length * 2);
+    for (int i = 0; i < oldKeys.length; ++i) {
+      if (oldKeys[i] != FREE_KEY) {
+        int index = findSlot(oldKeys[i]);
+        keys[index] = oldKeys[i];
+        values[index] = oldValues[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package tools;
+
+/**
+ * An immutable range of long integers, from the start to the end, inclusive. Like IntegerRange,
+ * but for coordinates which don't fit in an int. To store many ranges without allocating an
+ * object for each of them, use LongRangeBuffer.
+ */
+public final class LongRange {
+  private final long start;
+  private final long end;
+
+  /**
+   * Create a long range, which spans from the start to the end, inclusive.
+   *
+   * @param start The start of the range
+   * @param end   The end of the range
+   * @throws IllegalArgumentException If start > end
+   */
+  public LongRange(long start, long end) throws IllegalArgumentException {
+    if (start > end) {
+      throw new IllegalArgumentException("Start (" + start + ") can't be higher than end("
+          + end + ")");
+    }
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Get the start of the range.
+   *
+   * @return The start value, inclusive
+   */
+  public long getStart() {
+    return start;
+  }
+
+  /**
+   * Get the end of the range.
+   *
+   * @return The end value, inclusive
+   */
+  public long getEnd() {
+    return end;
+  }
+
+  /**
+   * Get the length of the range, inclusive start and end.
+   *
+   * @return The length of the range
+   * @throws ArithmeticException When the length does not fit in a long
+   */
+  public long getLength() throws ArithmeticException {
+    return Math.addExact(Math.subtractExact(end, start), 1);
+  }
+
+  /**
+   * Check if this range contains value v.
+   *
+   * @param v The value to check
+   * @return True if v fits within this range
+   */
+  public boolean containsValue(long v) {
+    return start <= v && v <= end;
+  }
+
+  /**
+   * Check whether this range includes range r fully.
+   *
+   * @param r The range to check for
+   * @return True if this range includes range r fully, false otherwise
+   */
+  public boolean containsFully(LongRange r) {
+    return r != null && start <= r.start && end >= r.end;
+  }
+
+  /**
+   * Check whether this range and range r have at least one common value.
+   *
+   * @param r The range to check
+   * @return True if the ranges overlap
+   */
+  public boolean overlapsWith(LongRange r) {
+    return start <= r.end && r.start <= end;
+  }
+
+  /**
+   * Merge this range with another range.
+   *
+   * @param r The range to merge with
+   * @return A new range covering both ranges
+   * @throws IllegalArgumentException When this and r don't overlap
+   */
+  public LongRange mergeWith(LongRange r) throws IllegalArgumentException {
+    if (!overlapsWith(r)) {
+      throw new IllegalArgumentException("Can't merge two non-overlapping ranges "
+          + this + " and " + r);
+    }
+    return new LongRange(Math.min(start, r.start), Math.max(end, r.end));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    LongRange that = (LongRange) o;
+    return start == that.start && end == that.end;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Long.hashCode(start) + Long.hashCode(end);
+  }
+
+  @Override
+  public String toString() {
+    return "[" + start + ".." + end + "]";
+  }
+}
@@ -0,0 +1,235 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of long ranges, stored as two parallel arrays of start and end values
+ * (no object per range). The buffer can be cleared and reused, and the ranges can be sorted
+ * and merged in place.
+ */
+public class LongRangeBuffer {
+  private static final int INITIAL_CAPACITY = 16;
+  // Sub-arrays shorter than this are sorted with insertion sort
+  private static final int INSERTION_SORT_LIMIT = 16;
+
+  private long[] starts;
+  private long[] ends;
+  private int size = 0;
+
+  /**
+   * Create an empty buffer.
+   */
+  public LongRangeBuffer() {
+    this(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Create an empty buffer with space for the given number of ranges. The buffer grows when
+   * more ranges are added.
+   *
+   * @param capacity The initial capacity
+   * @throws IllegalArgumentException When the capacity is negative
+   */
+  public LongRangeBuffer(int capacity) throws IllegalArgumentException {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    starts = new long[Math.max(capacity, 1)];
+    ends = new long[Math.max(capacity, 1)];
+  }
+
+  /**
+   * Add a range at the end of the buffer.
+   *
+   * @param start The start of the range, inclusive
+   * @param end   The end of the range, inclusive
+   * @throws IllegalArgumentException If start > end
+   */
+  public void add(long start, long end) throws IllegalArgumentException {
+    if (start > end) {
+      throw new IllegalArgumentException("Start (" + start + ") can't be higher than end("
+          + end + ")");
+    }
+    if (size == starts.length) {
+      starts = Arrays.copyOf(starts, size * 2);
+      ends = Arrays.copyOf(ends, size * 2);
+    }
+    starts[size] = start;
+    ends[size] = end;
+    size++;
+  }
+
+  /**
+   * Add a range at the end of the buffer.
+   *
+   * @param range The range to add
+   */
+  public void add(LongRange range) {
+    add(range.getStart(), range.getEnd());
+  }
+
+  /**
+   * Get the number of ranges in the buffer.
+   *
+   * @return The number of ranges
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Check whether the buffer is empty.
+   *
+   * @return True when there are no ranges in the buffer
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Remove all the ranges. The memory is kept for reuse.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Get the start of a range.
+   *
+   * @param index The index of the range, indexing starts at zero
+   * @return The start of the range, inclusive
+   * @throws IndexOutOfBoundsException When the index is invalid
+   */
+  public long getStart(int index) throws IndexOutOfBoundsException {
+    assertValidIndex(index);
+    return starts[index];
+  }
+
+  /**
+   * Get the end of a range.
+   *
+   * @param index The index of the range, indexing starts at zero
+   * @return The end of the range, inclusive
+   * @throws IndexOutOfBoundsException When the index is invalid
+   */
+  public long getEnd(int index) throws IndexOutOfBoundsException {
+    assertValidIndex(index);
+    return ends[index];
+  }
+
+  /**
+   * Get a range as an object.
+   *
+   * @param index The index of the range, indexing starts at zero
+   * @return The range
+   * @throws IndexOutOfBoundsException When the index is invalid
+   */
+  public LongRange getRange(int index) throws IndexOutOfBoundsException {
+    assertValidIndex(index);
+    return new LongRange(starts[index], ends[index]);
+  }
+
+  private void assertValidIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Invalid range index: " + index);
+    }
+  }
+
+  /**
+   * Get the total length of all the ranges. Overlapping parts are counted several times,
+   * call mergeOverlapping() first to count every value once.
+   *
+   * @return The sum of range lengths
+   * @throws ArithmeticException When the sum does not fit in a long
+   */
+  public long getTotalLength() throws ArithmeticException {
+    long total = 0;
+    for (int i = 0; i < size; ++i) {
+      total = Math.addExact(total, Math.addExact(Math.subtractExact(ends[i], starts[i]), 1));
+    }
+    return total;
+  }
+
+  /**
+   * Sort the ranges by their start, in place.
+   */
+  public void sortByStart() {
+    quickSort(0, size - 1);
+  }
+
+  /**
+   * Sort the ranges and merge the overlapping ones, in place. Touching ranges (one ends at x,
+   * the next starts at x + 1) are not merged, the same as in NonOverlappingRanges.
+   */
+  public void mergeOverlapping() {
+    sortByStart();
+    int mergedCount = 0;
+    for (int i = 0; i < size; ++i) {
+      if (mergedCount > 0 && starts[i] <= ends[mergedCount - 1]) {
+        ends[mergedCount - 1] = Math.max(ends[mergedCount - 1], ends[i]);
+      } else {
+        starts[mergedCount] = starts[i];
+        ends[mergedCount] = ends[i];
+        mergedCount++;
+      }
+    }
+    size = mergedCount;
+  }
+
+  private void quickSort(int low, int high) {
+    while (high - low >= INSERTION_SORT_LIMIT) {
+      int middle = (low + high) >>> 1;
+      long pivot = medianOfThree(starts[low], starts[middle], starts[high]);
+      int i = low;
+      int j = high;
+      while (i <= j) {
+        while (starts[i] < pivot) {
+          i++;
+        }
+        while (starts[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(i++, j--);
+        }
+      }
+      // Recurse into the smaller part, loop over the larger one: limits the stack depth
+      if (j - low < high - i) {
+        quickSort(low, j);
+        low = i;
+      } else {
+        quickSort(i, high);
+        high = j;
+      }
+    }
+    insertionSort(low, high);
+  }
+
+  private void insertionSort(int low, int high) {
+    for (int i = low + 1; i <= high; ++i) {
+      long start = starts[i];
+      long end = ends[i];
+      int j = i - 1;
+      while (j >= low && starts[j] > start) {
+        starts[j + 1] = starts[j];
+        ends[j + 1] = ends[j];
+        j--;
+      }
+      starts[j + 1] = start;
+      ends[j + 1] = end;
+    }
+  }
+
+  private static long medianOfThree(long a, long b, long c) {
+    return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+  }
+
+  private void swap(int i, int j) {
+    long start = starts[i];
+    starts[i] = starts[j];
+    starts[j] = start;
+    long end = ends[i];
+    ends[i] = ends[j];
+    ends[j] = end;
+  }
+}
@@ -0,0 +1,85 @@
+package tools;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+
+/**
+ * Reads lines from a memory-mapped region of a file. The file is mapped in windows of limited
+ * size, so that files larger than 2GB can be read as well. Lines are returned as views into the
+ * mapped bytes, without decoding them into new strings.
+ */
+class MappedLineSource extends ByteBufferLineSource {
+  private static final int MAX_WINDOW_SIZE = 1 << 30;
+
+  private final FileChannel channel;
+  private final long end;
+  private final int maxWindowSize;
+
+  private long windowStart;
+
+  /**
+   * Create a line source for the given region of a file. The window size can be reduced with
+   * the system property InputFile.MAP_WINDOW_PROPERTY.
+   *
+   * @param channel The channel of the file to read
+   * @param start   The position of the first byte to read (inclusive)
+   * @param end     The position of the last byte to read (exclusive)
+   * @throws IOException When the file can't be mapped
+   */
+  MappedLineSource(FileChannel channel, long start, long end) throws IOException {
+    this(channel, start, end, getConfiguredWindowSize());
+  }
+
+  /**
+   * Create a line source for the given region of a file, with custom window size.
+   *
+   * @param channel       The channel of the file to read
+   * @param start         The position of the first byte to read (inclusive)
+   * @param end           The position of the last byte to read (exclusive)
+   * @param maxWindowSize The maximum number of bytes mapped at once. A single line, together
+   *                      with its newline, can't be longer than this.
+   * @throws IOException When the file can't be mapped
+   */
+  MappedLineSource(FileChannel channel, long start, long end, int maxWindowSize)
+      throws IOException {
+    this.channel = channel;
+    this.end = end;
+    this.maxWindowSize = maxWindowSize;
+    mapWindowAt(start);
+  }
+
+  private static int getConfiguredWindowSize() {
+    int size = Integer.getInteger(InputFile.MAP_WINDOW_PROPERTY, MAX_WINDOW_SIZE);
+    return size > 0 ? Math.min(size, MAX_WINDOW_SIZE) : MAX_WINDOW_SIZE;
+  }
+
+  private void mapWindowAt(long filePosition) throws IOException {
+    long size = Math.min(maxWindowSize, end - filePosition);
+    window = channel.map(FileChannel.MapMode.READ_ONLY, filePosition, size);
+    windowStart = filePosition;
+    position = 0;
+  }
+
+  @Override
+  protected boolean isWindowAtEnd() {
+    return windowStart + window.limit() >= end;
+  }
+
+  @Override
+  protected void moveWindowToPosition() throws IOException {
+    mapWindowAt(windowStart + position);
+  }
+
+  @Override
+  public Spliterator<String> remainingLines() throws IOException {
+    Spliterator<String> lines = new MappedLineSpliterator(channel, windowStart + position, end);
+    mapWindowAt(end);
+    return lines;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
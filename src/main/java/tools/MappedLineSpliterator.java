@@ -0,0 +1,111 @@
+package tools;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Splits a region of a file into smaller regions, aligned on line boundaries, so that the
+ * lines can be parsed by several threads. Each region is memory-mapped only when its lines
+ * are traversed.
+ */
+class MappedLineSpliterator implements Spliterator<String> {
+  private static final long MIN_SPLIT_SIZE = 1 << 16;
+  private static final int SCAN_BUFFER_SIZE = 256;
+
+  private final FileChannel channel;
+  private long start;
+  private final long end;
+  private MappedLineSource lines;
+
+  /**
+   * Create a spliterator for the lines inside the given region of a file.
+   *
+   * @param channel The channel of the file. Positional reads are used, therefore the channel
+   *                can be shared between several spliterators.
+   * @param start   The position of the first byte (inclusive), must be at the start of a line
+   * @param end     The position of the last byte (exclusive)
+   */
+  MappedLineSpliterator(FileChannel channel, long start, long end) {
+    this.channel = channel;
+    this.start = start;
+    this.end = end;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super String> action) {
+    String line;
+    try {
+      if (lines == null) {
+        lines = new MappedLineSource(channel, start, end);
+      }
+      line = lines.readLine();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (line != null) {
+      action.accept(line);
+    }
+    return line != null;
+  }
+
+  @Override
+  public Spliterator<String> trySplit() {
+    if (lines != null || end - start < 2 * MIN_SPLIT_SIZE) {
+      return null;
+    }
+
+    long splitPosition;
+    try {
+      splitPosition = findLineStartAfter(start + (end - start) / 2);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (splitPosition >= end) {
+      return null;
+    }
+
+    MappedLineSpliterator prefix = new MappedLineSpliterator(channel, start, splitPosition);
+    start = splitPosition;
+    return prefix;
+  }
+
+  /**
+   * Find the start of the first line which begins after the given position.
+   *
+   * @param position The position to search from
+   * @return Position of the first byte after the next newline; or the end of the region
+   * @throws IOException When reading the file fails
+   */
+  private long findLineStartAfter(long position) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+    while (position < end) {
+      buffer.clear();
+      int n = channel.read(buffer, position);
+      if (n <= 0) {
+        return end;
+      }
+      for (int i = 0; i < n; ++i) {
+        if (buffer.get(i) == '\n') {
+          return position + i + 1;
+        }
+      }
+      position += n;
+    }
+    return end;
+  }
+
+  @Override
+  public long estimateSize() {
+    // The number of bytes is an upper bound for the number of lines
+    return end - start;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL | IMMUTABLE;
+  }
+}
@@ -1,103 +1,151 @@
 package tools;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
- * A collection of non-overlapping integer ranges.
+ * A collection of non-overlapping integer ranges. The ranges are kept sorted, in two parallel
+ * arrays of start and end values. Because the ranges don't overlap, both arrays are sorted and
+ * the ranges related to any value can be found with a binary search.
  */
 public class NonOverlappingRanges {
-  private final List<IntegerRange> ranges = new LinkedList<>();
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] starts = new int[INITIAL_CAPACITY];
+  private int[] ends = new int[INITIAL_CAPACITY];
+  private int rangeCount = 0;
 
   /**
-   * Add a new range. Merge ranges if necessary.
+   * Add a new range. Merge ranges if necessary: all the existing ranges overlapping with the
+   * new range are replaced by a single range covering them all. Ranges which only touch each
+   * other (without overlapping) are not merged.
    *
    * @param range The range to add.
    */
   public void add(IntegerRange range) {
-    if (ranges.isEmpty()) {
-      ranges.add(range);
+    add(range.getStart(), range.getEnd());
+  }
+
+  /**
+   * Add a new range, given by its start and end values. See add(IntegerRange).
+   *
+   * @param start The start of the range, inclusive
+   * @param end   The end of the range, inclusive
+   * @throws IllegalArgumentException If start > end
+   */
+  public void add(int start, int end) throws IllegalArgumentException {
+    if (start > end) {
+      throw new IllegalArgumentException("Start (" + start + ") can't be higher than end("
+          + end + ")");
+    }
+    int first = findFirstEndingAtOrAfter(start);
+    int last = findFirstStartingAfter(end) - 1;
+    if (first > last) {
+      insertAt(first, start, end);
     } else {
-      removeTotallyCovered(range);
-      mergeWithExisting(range);
+      // Ranges first..last overlap with the new range, replace them all with one range
+      starts[first] = Math.min(starts[first], start);
+      ends[first] = Math.max(ends[last], end);
+      removeRanges(first + 1, last + 1);
     }
   }
 
-  private void removeTotallyCovered(IntegerRange range) {
-    for (int i = 0; i < ranges.size(); ++i) {
-      IntegerRange existingRange = ranges.get(i);
-      if (range.containsFully(existingRange)) {
-        ranges.remove(i);
-        i--;
-      }
-    }
+  /**
+   * Remove all the ranges.
+   */
+  public void clear() {
+    rangeCount = 0;
   }
 
   /**
-   * Merge the new range r with existing ranges. Assume that no range will overlap with r fully.
-   * Find ranges s and e first:
-   * s: where the new range starts
-   * e: where the new range ends
-   * Three cases possible:
-   * a) If both s and e are found, replace them with a new range from s.start until e.end
-   * b) If one of s or e exists, merge r with it
-   * c) If neither s nor e are found, simply add the new range r
+   * Add a range which starts at or after the start of every stored range. Merge it with the
+   * last range if they overlap. This is the linear step of a sweep, see RangeSweep.
    *
-   * @param r The new range to merge with existing ones.
-   */
-  private void mergeWithExisting(IntegerRange r) {
-    IntegerRange s = findStartRangeFor(r);
-    IntegerRange e = findEndRangeFor(r);
-    if (s != null && e != null) {
-      // If s == e, this means that r is fully within s and "gets swallowed by s"
-      if (s != e) {
-        s.setEnd(e.getEnd());
-        ranges.remove(e);
-      }
-    } else if (s != null) {
-      s.setEnd(r.getEnd());
-    } else if (e != null) {
-      e.setStart(r.getStart());
+   * @param start The start of the range, inclusive
+   * @param end   The end of the range, inclusive
+   */
+  void appendSorted(int start, int end) {
+    if (rangeCount > 0 && start <= ends[rangeCount - 1]) {
+      ends[rangeCount - 1] = Math.max(ends[rangeCount - 1], end);
     } else {
-      ranges.add(r);
+      insertAt(rangeCount, start, end);
     }
   }
 
   /**
-   * Find an existing range which covers r.start .
+   * Find the first range which ends at the given value, or after it.
    *
-   * @param r The range to check the start for
-   * @return A range which covers the start of r, or null if none found
-   */
-  private IntegerRange findStartRangeFor(IntegerRange r) {
-    IntegerRange startRange = null;
-    Iterator<IntegerRange> it = ranges.iterator();
-    while (it.hasNext() && startRange == null) {
-      IntegerRange range = it.next();
-      if (r.startsWithin(range)) {
-        startRange = range;
+   * @param value The value to look for
+   * @return Index of the range, rangeCount when all ranges end before the value
+   */
+  private int findFirstEndingAtOrAfter(int value) {
+    int low = 0;
+    int high = rangeCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (ends[middle] < value) {
+        low = middle + 1;
+      } else {
+        high = middle;
       }
     }
-    return startRange;
+    return low;
   }
 
   /**
-   * Find an existing range which covers r.end .
+   * Find the first range which starts after the given value.
    *
-   * @param r The range to check the end for
-   * @return A range which covers the end of r, or null if none found
-   */
-  private IntegerRange findEndRangeFor(IntegerRange r) {
-    IntegerRange endRange = null;
-    Iterator<IntegerRange> it = ranges.iterator();
-    while (it.hasNext() && endRange == null) {
-      IntegerRange range = it.next();
-      if (r.endsWithin(range)) {
-        endRange = range;
+   * @param value The value to look for
+   * @return Index of the range, rangeCount when all ranges start at the value, or before it
+   */
+  private int findFirstStartingAfter(int value) {
+    int low = 0;
+    int high = rangeCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (starts[middle] <= value) {
+        low = middle + 1;
+      } else {
+        high = middle;
       }
     }
-    return endRange;
+    return low;
+  }
+
+  /**
+   * Find the range containing the given value.
+   *
+   * @param value The value to look for
+   * @return Index of the range, -1 if the value is not covered by any range
+   */
+  private int findRangeContaining(int value) {
+    int index = findFirstEndingAtOrAfter(value);
+    return index < rangeCount && starts[index] <= value ? index : -1;
+  }
+
+  private void insertAt(int index, int start, int end) {
+    if (rangeCount == starts.length) {
+      starts = Arrays.copyOf(starts, rangeCount * 2);
+      ends = Arrays.copyOf(ends, rangeCount * 2);
+    }
+    System.arraycopy(starts, index, starts, index + 1, rangeCount - index);
+    System.arraycopy(ends, index, ends, index + 1, rangeCount - index);
+    starts[index] = start;
+    ends[index] = end;
+    rangeCount++;
+  }
+
+  /**
+   * Remove the ranges with indices from fromIndex (inclusive) to toIndex (exclusive).
+   */
+  private void removeRanges(int fromIndex, int toIndex) {
+    int removedCount = toIndex - fromIndex;
+    if (removedCount > 0) {
+      System.arraycopy(starts, toIndex, starts, fromIndex, rangeCount - toIndex);
+      System.arraycopy(ends, toIndex, ends, fromIndex, rangeCount - toIndex);
+      rangeCount -= removedCount;
+    }
   }
 
   /**
@@ -106,22 +154,20 @@ public class NonOverlappingRanges {
    * @param v The value to remove
    */
   public void removeSingleValue(int v) {
-    boolean found = false;
-    Iterator<IntegerRange> it = ranges.iterator();
-    while (it.hasNext() && !found) {
-      IntegerRange r = it.next();
-      if (r.containsValue(v)) {
-        found = true;
-        if (r.getStart() == v) {
-          r.setStart(v + 1);
-        } else if (r.getEnd() == v) {
-          r.setEnd(v - 1);
-        } else if (r.containsValue(v)) {
-          int end = r.getEnd();
-          r.setEnd(v - 1);
-          ranges.add(new IntegerRange(v + 1, end));
-        }
-      }
+    int index = findRangeContaining(v);
+    if (index < 0) {
+      return;
+    }
+    if (starts[index] == v && ends[index] == v) {
+      removeRanges(index, index + 1);
+    } else if (starts[index] == v) {
+      starts[index] = v + 1;
+    } else if (ends[index] == v) {
+      ends[index] = v - 1;
+    } else {
+      int end = ends[index];
+      ends[index] = v - 1;
+      insertAt(index + 1, v + 1, end);
     }
   }
 
@@ -131,18 +177,21 @@ public class NonOverlappingRanges {
    * @return The number of non-overlapping ranges stored inside this collection
    */
   public int getRangeCount() {
-    return ranges.size();
+    return rangeCount;
   }
 
   /**
-   * Get the range stored at specific index.
+   * Get the range stored at specific index. The ranges are sorted by their values.
    *
    * @param index The index of the range, indexing starts at zero.
-   * @return The integer range
-   * @throws ArrayIndexOutOfBoundsException When index is invalid
+   * @return A copy of the integer range, changing it does not affect this collection
+   * @throws IndexOutOfBoundsException When index is invalid
    */
-  public IntegerRange getRange(int index) {
-    return ranges.get(index);
+  public IntegerRange getRange(int index) throws IndexOutOfBoundsException {
+    if (index < 0 || index >= rangeCount) {
+      throw new IndexOutOfBoundsException("Invalid range index: " + index);
+    }
+    return new IntegerRange(starts[index], ends[index]);
   }
 
   /**
@@ -152,30 +201,99 @@ public class NonOverlappingRanges {
    * @return True if any of the stored ranges covers r fully, false otherwise.
    */
   public boolean containsRangeFully(IntegerRange r) {
-    boolean covered = false;
-    Iterator<IntegerRange> it = ranges.iterator();
-    while (it.hasNext() && !covered) {
-      IntegerRange range = it.next();
-      covered = range.containsFully(r);
-    }
-    return covered;
+    int index = findRangeContaining(r.getStart());
+    return index >= 0 && ends[index] >= r.getEnd();
   }
 
   /**
-   * Check the stored ranges, find if there is a gap which fits within range r.
+   * Check whether any of the stored ranges contains the value v.
+   *
+   * @param v The value to look for
+   * @return True if v is covered by one of the ranges
+   */
+  public boolean containsValue(int v) {
+    return findRangeContaining(v) >= 0;
+  }
+
+  /**
+   * Check the stored ranges, find the first gap within range r. Ranges which touch each other
+   * (one ends at x, the next starts at x + 1) leave no gap between them.
    *
    * @param r The range of values to check
-   * @return The gap value or null if no gaps are found
+   * @return The first value within r which is not covered by any range, or null if no gaps are
+   *     found
    */
   public Integer findGapInRange(IntegerRange r) {
-    if (containsRangeFully(r)) {
-      return null;
+    long gapStart = findGapStart(r.getStart(), r.getEnd());
+    return gapStart <= r.getEnd() ? (int) gapStart : null;
+  }
+
+  /**
+   * Find all the gaps within range r: the maximal ranges of values not covered by any of the
+   * stored ranges.
+   *
+   * @param r The range of values to check
+   * @return The gaps, sorted. Empty list if r is fully covered.
+   */
+  public List<IntegerRange> findGapsInRange(IntegerRange r) {
+    List<IntegerRange> gaps = new ArrayList<>();
+    long value = r.getStart();
+    int index = findFirstEndingAtOrAfter(r.getStart());
+    while (value <= r.getEnd()) {
+      if (index < rangeCount && starts[index] <= value) {
+        value = (long) ends[index] + 1;
+      } else {
+        long gapEnd = index < rangeCount ? Math.min((long) starts[index] - 1, r.getEnd())
+            : r.getEnd();
+        gaps.add(new IntegerRange((int) value, (int) gapEnd));
+        if (index >= rangeCount) {
+          break;
+        }
+        value = (long) ends[index] + 1;
+      }
+      index++;
     }
+    return gaps;
+  }
 
-    if (ranges.size() != 2) {
-      throw new IllegalStateException("Gap search for more than two ranges is not implemented...");
+  /**
+   * Count the values within range r which are not covered by any of the stored ranges.
+   *
+   * @param r The range of values to check
+   * @return The total length of all the gaps within r
+   */
+  public long getUncoveredLength(IntegerRange r) {
+    long uncovered = (long) r.getEnd() - r.getStart() + 1;
+    int index = findFirstEndingAtOrAfter(r.getStart());
+    while (index < rangeCount && starts[index] <= r.getEnd()) {
+      long coveredStart = Math.max(starts[index], r.getStart());
+      long coveredEnd = Math.min(ends[index], r.getEnd());
+      uncovered -= coveredEnd - coveredStart + 1;
+      index++;
     }
+    return uncovered;
+  }
 
-    return Math.min(ranges.get(0).getEnd(), ranges.get(1).getEnd()) + 1;
+  /**
+   * Find the first value at or after start which is not covered by any range.
+   *
+   * @param start The value where the search starts
+   * @param limit The search stops after passing this value
+   * @return The first uncovered value, or a value above limit when there are none up to limit.
+   *     A long, because the result can be Integer.MAX_VALUE + 1.
+   */
+  private long findGapStart(int start, int limit) {
+    long value = start;
+    int index = findRangeContaining(start);
+    if (index >= 0) {
+      // Skip the ranges touching each other
+      value = (long) ends[index] + 1;
+      index++;
+      while (value <= limit && index < rangeCount && starts[index] == value) {
+        value = (long) ends[index] + 1;
+        index++;
+      }
+    }
+    return value;
   }
 }
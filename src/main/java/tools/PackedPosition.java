@@ -0,0 +1,136 @@
+package tools;
+
+/**
+ * A two-dimensional position packed into a single long: x in the upper 32 bits, y in the
+ * lower 32 bits. Positions can be stored in primitive arrays and collections, and calculated
+ * without allocating objects. Use Vector where readability matters more than speed.
+ */
+public final class PackedPosition {
+  private static final long LOWER_BITS = 0xFFFFFFFFL;
+
+  private PackedPosition() {
+  }
+
+  /**
+   * Pack a position.
+   *
+   * @param x The x-coordinate
+   * @param y The y-coordinate
+   * @return The packed position
+   */
+  public static long pack(int x, int y) {
+    return ((long) x << Integer.SIZE) | (y & LOWER_BITS);
+  }
+
+  /**
+   * Pack the position of a vector.
+   *
+   * @param v The vector
+   * @return The packed position
+   */
+  public static long fromVector(Vector v) {
+    return pack(v.getX(), v.getY());
+  }
+
+  /**
+   * Convert a packed position to a vector.
+   *
+   * @param position The packed position
+   * @return A new vector with the same coordinates
+   */
+  public static Vector toVector(long position) {
+    return new Vector(getX(position), getY(position));
+  }
+
+  /**
+   * Get the x-coordinate of a packed position.
+   *
+   * @param position The packed position
+   * @return The x-coordinate
+   */
+  public static int getX(long position) {
+    return (int) (position >> Integer.SIZE);
+  }
+
+  /**
+   * Get the y-coordinate of a packed position.
+   *
+   * @param position The packed position
+   * @return The y-coordinate
+   */
+  public static int getY(long position) {
+    return (int) position;
+  }
+
+  /**
+   * Add a distance to a position.
+   *
+   * @param position The packed position
+   * @param deltaX   The distance to add on the x-axis
+   * @param deltaY   The distance to add on the y-axis
+   * @return The packed position (x + deltaX, y + deltaY)
+   */
+  public static long plus(long position, int deltaX, int deltaY) {
+    return pack(getX(position) + deltaX, getY(position) + deltaY);
+  }
+
+  /**
+   * Add two positions.
+   *
+   * @param a The first packed position
+   * @param b The second packed position
+   * @return The packed sum a + b
+   */
+  public static long plus(long a, long b) {
+    return plus(a, getX(b), getY(b));
+  }
+
+  /**
+   * Subtract two positions.
+   *
+   * @param a The packed position to subtract from
+   * @param b The packed position to subtract
+   * @return The packed difference a - b
+   */
+  public static long minus(long a, long b) {
+    return pack(getX(a) - getX(b), getY(a) - getY(b));
+  }
+
+  /**
+   * Multiply both coordinates by a factor.
+   *
+   * @param position The packed position
+   * @param factor   The factor
+   * @return The packed position (x * factor, y * factor)
+   */
+  public static long scale(long position, int factor) {
+    return pack(getX(position) * factor, getY(position) * factor);
+  }
+
+  /**
+   * Get a well-mixed hash of a packed position (the finalizer of MurmurHash3). Neighbouring
+   * positions get very different hashes, as required by open-addressing hash tables.
+   *
+   * @param position The packed position, or any other long value
+   * @return The hash
+   */
+  public static int hash(long position) {
+    long h = position;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+
+  /**
+   * Format a packed position the same way as a Vector.
+   *
+   * @param position The packed position
+   * @return The position as a string (x,y)
+   */
+  public static String toString(long position) {
+    return "(" + getX(position) + "," + getY(position) + ")";
+  }
+}
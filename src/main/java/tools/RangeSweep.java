@@ -0,0 +1,67 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * Collects a batch of unsorted integer ranges and merges them into NonOverlappingRanges in one
+ * sweep: the ranges are sorted by their start and then merged in a single linear pass. Each
+ * range is stored as one packed long in a reusable buffer, therefore a sweep object can be used
+ * for many batches without allocating memory (once the buffer has grown to the batch size).
+ */
+public class RangeSweep {
+  private static final int INITIAL_CAPACITY = 32;
+
+  // Start in the upper 32 bits, end in the lower 32 bits: sorting the longs sorts by the start
+  private long[] ranges = new long[INITIAL_CAPACITY];
+  private int rangeCount = 0;
+
+  /**
+   * Add a range to the current batch.
+   *
+   * @param start The start of the range, inclusive
+   * @param end   The end of the range, inclusive
+   * @throws IllegalArgumentException If start > end
+   */
+  public void add(int start, int end) throws IllegalArgumentException {
+    if (start > end) {
+      throw new IllegalArgumentException("Start (" + start + ") can't be higher than end("
+          + end + ")");
+    }
+    if (rangeCount == ranges.length) {
+      ranges = Arrays.copyOf(ranges, rangeCount * 2);
+    }
+    ranges[rangeCount++] = ((long) start << 32) | (end & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Get the number of ranges in the current batch.
+   *
+   * @return The number of ranges added since the last merge
+   */
+  public int getRangeCount() {
+    return rangeCount;
+  }
+
+  /**
+   * Discard the current batch.
+   */
+  public void clear() {
+    rangeCount = 0;
+  }
+
+  /**
+   * Merge the current batch of ranges and store the result, replacing the previous content of
+   * the target. Overlapping ranges are merged, touching ranges are not - the same as
+   * NonOverlappingRanges.add() does. The batch is cleared afterwards.
+   *
+   * @param target The collection where the merged ranges will be stored
+   */
+  public void mergeInto(NonOverlappingRanges target) {
+    Arrays.sort(ranges, 0, rangeCount);
+    target.clear();
+    for (int i = 0; i < rangeCount; ++i) {
+      target.appendSorted((int) (ranges[i] >> 32), (int) ranges[i]);
+    }
+    rangeCount = 0;
+  }
+}
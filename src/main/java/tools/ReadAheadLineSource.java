@@ -0,0 +1,178 @@
+package tools;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads lines from another source in a background thread, while the consumer is processing
+ * the previous lines. The lines are passed over in batches through a bounded queue: when the
+ * queue is full, the background thread waits until the consumer catches up.
+ */
+class ReadAheadLineSource implements LineSource {
+  private final LineSource source;
+  private final int batchSize;
+  private final BlockingQueue<Batch> batches;
+  private final Thread readerThread;
+
+  private Batch currentBatch;
+  private int currentIndex;
+  // The line partly consumed with read(), null when there is none. The characters before
+  // lineIndex have been returned already; lineIndex == length means only the newline is left.
+  private String currentLine;
+  private int lineIndex;
+
+  /**
+   * A batch of lines, or the end marker when there are no lines, or an error.
+   */
+  private static class Batch {
+    final String[] lines;
+    final int lineCount;
+    final IOException error;
+
+    Batch(String[] lines, int lineCount, IOException error) {
+      this.lines = lines;
+      this.lineCount = lineCount;
+      this.error = error;
+    }
+
+    boolean isEnd() {
+      return lineCount == 0;
+    }
+  }
+
+  /**
+   * Start reading the source in the background.
+   *
+   * @param source     The source to read
+   * @param batchSize  The number of lines in one batch
+   * @param batchCount The maximum number of batches read ahead
+   */
+  ReadAheadLineSource(LineSource source, int batchSize, int batchCount) {
+    this.source = source;
+    this.batchSize = batchSize;
+    this.batches = new ArrayBlockingQueue<>(batchCount);
+    readerThread = new Thread(this::readAllBatches, "input-read-ahead");
+    readerThread.setDaemon(true);
+    readerThread.start();
+  }
+
+  private void readAllBatches() {
+    try {
+      Batch batch;
+      do {
+        batch = readBatch();
+        batches.put(batch);
+      } while (!batch.isEnd() && batch.error == null);
+    } catch (InterruptedException e) {
+      // The source is closed, stop reading
+    }
+  }
+
+  private Batch readBatch() {
+    String[] lines = new String[batchSize];
+    int lineCount = 0;
+    try {
+      String line = source.readLine();
+      while (line != null) {
+        lines[lineCount++] = line;
+        line = lineCount < batchSize ? source.readLine() : null;
+      }
+    } catch (IOException e) {
+      return new Batch(lines, lineCount, e);
+    }
+    return new Batch(lines, lineCount, null);
+  }
+
+  /**
+   * Get the next line from the batches.
+   *
+   * @return The next line, or null when the end is reached
+   * @throws IOException When the background thread failed to read the source
+   */
+  private String nextLine() throws IOException {
+    while (currentBatch == null || currentIndex >= currentBatch.lineCount) {
+      if (currentBatch != null && currentBatch.error != null) {
+        throw new IOException("Reading input failed: " + currentBatch.error.getMessage(),
+            currentBatch.error);
+      }
+      if (currentBatch != null && currentBatch.isEnd()) {
+        return null;
+      }
+      currentBatch = takeBatch();
+      currentIndex = 0;
+    }
+    return currentBatch.lines[currentIndex++];
+  }
+
+  private Batch takeBatch() throws IOException {
+    try {
+      return batches.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for input");
+    }
+  }
+
+  /**
+   * Check whether the next line can be taken without waiting for the background thread.
+   */
+  private boolean hasBufferedLine() {
+    return currentBatch != null && currentIndex < currentBatch.lineCount;
+  }
+
+  @Override
+  public String readLine() throws IOException {
+    if (currentLine != null) {
+      String rest = currentLine.substring(lineIndex);
+      currentLine = null;
+      return rest;
+    }
+    return nextLine();
+  }
+
+  @Override
+  public CharSequence readLineView() throws IOException {
+    return readLine();
+  }
+
+  /**
+   * Read characters. Note: the lines are already split, therefore every line (including the
+   * last one) ends with a single newline character, whatever the original line terminator was.
+   * The buffer is filled from as many lines as fit, as long as they are available without
+   * waiting for the background thread.
+   */
+  @Override
+  public int read(char[] buffer, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length) {
+      if (currentLine == null) {
+        if (count > 0 && !hasBufferedLine()) {
+          break;
+        }
+        currentLine = nextLine();
+        lineIndex = 0;
+        if (currentLine == null) {
+          return count > 0 ? count : -1;
+        }
+      }
+
+      int copyCount = Math.min(currentLine.length() - lineIndex, length - count);
+      currentLine.getChars(lineIndex, lineIndex + copyCount, buffer, offset + count);
+      lineIndex += copyCount;
+      count += copyCount;
+      if (lineIndex == currentLine.length() && count < length) {
+        buffer[offset + count++] = '\n';
+        currentLine = null;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    readerThread.interrupt();
+    source.close();
+  }
+}
@@ -0,0 +1,17 @@
+package tools;
+
+/**
+ * The way an input file is read from the disk.
+ */
+public enum ReadMode {
+  /**
+   * Read through a buffered character reader. Every line becomes a new String.
+   */
+  BUFFERED,
+
+  /**
+   * Map the file into memory and read the lines directly from the mapped bytes. The input is
+   * expected to be ASCII text.
+   */
+  MEMORY_MAPPED
+}
@@ -0,0 +1,42 @@
+package tools;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines from a character reader.
+ */
+class ReaderLineSource implements LineSource {
+  private final BufferedReader reader;
+
+  /**
+   * Create a line source from a reader.
+   *
+   * @param reader The reader to read the characters from
+   */
+  ReaderLineSource(Reader reader) {
+    this.reader = reader instanceof BufferedReader
+        ? (BufferedReader) reader : new BufferedReader(reader);
+  }
+
+  @Override
+  public String readLine() throws IOException {
+    return reader.readLine();
+  }
+
+  @Override
+  public CharSequence readLineView() throws IOException {
+    return reader.readLine();
+  }
+
+  @Override
+  public int read(char[] buffer, int offset, int length) throws IOException {
+    return reader.read(buffer, offset, length);
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
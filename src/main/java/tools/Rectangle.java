@@ -102,10 +102,56 @@ public class Rectangle {
    * the new dot (which can be outside the original rectangle).
    *
    * @param dot The dot to cover
-   * @return A new rectangle covering the original rectangle and the new dot
+   * @return A rectangle covering the original rectangle and the new dot. This rectangle is
+   *     returned when it covers the dot already (rectangles are immutable).
    */
   public Rectangle extend(Vector dot) {
-    return extend(new Rectangle(dot.getX(), dot.getY(), dot.getX(), dot.getY()));
+    if (contains(dot.getX(), dot.getY())) {
+      return this;
+    }
+    int minX = Math.min(topLeft.getX(), dot.getX());
+    int minY = Math.min(topLeft.getY(), dot.getY());
+    int maxX = Math.max(bottomRight.getX(), dot.getX());
+    int maxY = Math.max(bottomRight.getY(), dot.getY());
+    return new Rectangle(minX, minY, maxX, maxY);
+  }
+
+  /**
+   * Check whether this rectangle and the other rectangle have at least one common cell.
+   *
+   * @param other The other rectangle
+   * @return True when the rectangles intersect (touching edges count as intersection)
+   */
+  public boolean intersects(Rectangle other) {
+    return topLeft.getX() <= other.bottomRight.getX()
+        && other.topLeft.getX() <= bottomRight.getX()
+        && topLeft.getY() <= other.bottomRight.getY()
+        && other.topLeft.getY() <= bottomRight.getY();
+  }
+
+  /**
+   * Check whether the other rectangle is completely inside this rectangle.
+   *
+   * @param other The other rectangle
+   * @return True when all cells of the other rectangle are inside this rectangle
+   */
+  public boolean contains(Rectangle other) {
+    return topLeft.getX() <= other.topLeft.getX()
+        && other.bottomRight.getX() <= bottomRight.getX()
+        && topLeft.getY() <= other.topLeft.getY()
+        && other.bottomRight.getY() <= bottomRight.getY();
+  }
+
+  /**
+   * Check whether a cell is inside this rectangle (including the edges).
+   *
+   * @param x The x-coordinate of the cell
+   * @param y The y-coordinate of the cell
+   * @return True when the cell is inside the rectangle
+   */
+  public boolean contains(int x, int y) {
+    return topLeft.getX() <= x && x <= bottomRight.getX()
+        && topLeft.getY() <= y && y <= bottomRight.getY();
   }
 
   @Override
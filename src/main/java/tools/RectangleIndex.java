@@ -0,0 +1,221 @@
+package tools;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A spatial index over items with rectangular boundaries: finds the items intersecting an
+ * area, contained in an area, or covering a point, without scanning all the items.
+ * It is a static R-tree, packed with the Sort-Tile-Recursive method: the items are sorted into
+ * vertical slices by x, each slice is sorted by y, and every node covers up to NODE_CAPACITY
+ * consecutive nodes (or items) of the level below. The index can't be modified after creation.
+ */
+public class RectangleIndex<T> {
+  private static final int NODE_CAPACITY = 16;
+  // Number of ints per bounding box in the level arrays: minX, minY, maxX, maxY
+  private static final int BOX_SIZE = 4;
+
+  private final List<T> items;
+  // levels.get(0) holds the boundaries of the items, levels.get(k) the bounding boxes of
+  // the nodes at level k. The top level has a single node.
+  private final List<int[]> levels = new ArrayList<>();
+
+  /**
+   * A test on a bounding box.
+   */
+  private interface BoxFilter {
+    boolean test(int minX, int minY, int maxX, int maxY);
+  }
+
+  /**
+   * Create an index over the items.
+   *
+   * @param items        The items to index
+   * @param boundariesOf Gets the boundaries of an item
+   */
+  public RectangleIndex(List<T> items, Function<T, Rectangle> boundariesOf) {
+    List<T> sortedItems = sortTileRecursive(items, boundariesOf);
+    this.items = sortedItems;
+    if (sortedItems.isEmpty()) {
+      return;
+    }
+
+    int[] itemBoxes = new int[sortedItems.size() * BOX_SIZE];
+    for (int i = 0; i < sortedItems.size(); ++i) {
+      Rectangle r = boundariesOf.apply(sortedItems.get(i));
+      itemBoxes[i * BOX_SIZE] = r.getTopLeft().getX();
+      itemBoxes[i * BOX_SIZE + 1] = r.getTopLeft().getY();
+      itemBoxes[i * BOX_SIZE + 2] = r.getBottomRight().getX();
+      itemBoxes[i * BOX_SIZE + 3] = r.getBottomRight().getY();
+    }
+    levels.add(itemBoxes);
+    while (getCount(levels.size() - 1) > 1) {
+      levels.add(createParentLevel(levels.get(levels.size() - 1)));
+    }
+  }
+
+  private static <T> List<T> sortTileRecursive(List<T> items,
+                                               Function<T, Rectangle> boundariesOf) {
+    // Comparing the sums of the coordinates is the same as comparing the centers
+    Comparator<T> byCenterX = Comparator.comparingLong(item -> {
+      Rectangle r = boundariesOf.apply(item);
+      return (long) r.getTopLeft().getX() + r.getBottomRight().getX();
+    });
+    Comparator<T> byCenterY = Comparator.comparingLong(item -> {
+      Rectangle r = boundariesOf.apply(item);
+      return (long) r.getTopLeft().getY() + r.getBottomRight().getY();
+    });
+
+    List<T> sorted = new ArrayList<>(items);
+    sorted.sort(byCenterX);
+    int leafCount = (sorted.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+    int sliceCount = (int) Math.ceil(Math.sqrt(leafCount));
+    int sliceSize = Math.max(1, sliceCount * NODE_CAPACITY);
+    for (int start = 0; start < sorted.size(); start += sliceSize) {
+      sorted.subList(start, Math.min(sorted.size(), start + sliceSize)).sort(byCenterY);
+    }
+    return sorted;
+  }
+
+  private static int[] createParentLevel(int[] childBoxes) {
+    int childCount = childBoxes.length / BOX_SIZE;
+    int parentCount = (childCount + NODE_CAPACITY - 1) / NODE_CAPACITY;
+    int[] parentBoxes = new int[parentCount * BOX_SIZE];
+    for (int parent = 0; parent < parentCount; ++parent) {
+      int minX = Integer.MAX_VALUE;
+      int minY = Integer.MAX_VALUE;
+      int maxX = Integer.MIN_VALUE;
+      int maxY = Integer.MIN_VALUE;
+      int lastChild = Math.min(childCount, (parent + 1) * NODE_CAPACITY);
+      for (int child = parent * NODE_CAPACITY; child < lastChild; ++child) {
+        minX = Math.min(minX, childBoxes[child * BOX_SIZE]);
+        minY = Math.min(minY, childBoxes[child * BOX_SIZE + 1]);
+        maxX = Math.max(maxX, childBoxes[child * BOX_SIZE + 2]);
+        maxY = Math.max(maxY, childBoxes[child * BOX_SIZE + 3]);
+      }
+      parentBoxes[parent * BOX_SIZE] = minX;
+      parentBoxes[parent * BOX_SIZE + 1] = minY;
+      parentBoxes[parent * BOX_SIZE + 2] = maxX;
+      parentBoxes[parent * BOX_SIZE + 3] = maxY;
+    }
+    return parentBoxes;
+  }
+
+  private int getCount(int level) {
+    return levels.get(level).length / BOX_SIZE;
+  }
+
+  /**
+   * Get the number of indexed items.
+   *
+   * @return The number of items
+   */
+  public int size() {
+    return items.size();
+  }
+
+  /**
+   * Get the boundaries covering all the items.
+   *
+   * @return The boundaries, null when the index is empty
+   */
+  public Rectangle getBoundaries() {
+    if (items.isEmpty()) {
+      return null;
+    }
+    int[] top = levels.get(levels.size() - 1);
+    return new Rectangle(top[0], top[1], top[2], top[3]);
+  }
+
+  /**
+   * Find all items with boundaries intersecting the area.
+   *
+   * @param area The area to search
+   * @return The items intersecting the area (touching counts as intersecting)
+   */
+  public List<T> findIntersecting(Rectangle area) {
+    BoxFilter intersects = intersectionFilter(area);
+    return search(intersects, intersects);
+  }
+
+  /**
+   * Find all items with boundaries completely inside the area.
+   *
+   * @param area The area to search
+   * @return The items contained in the area
+   */
+  public List<T> findContainedIn(Rectangle area) {
+    int areaMinX = area.getTopLeft().getX();
+    int areaMinY = area.getTopLeft().getY();
+    int areaMaxX = area.getBottomRight().getX();
+    int areaMaxY = area.getBottomRight().getY();
+    return search(intersectionFilter(area), (minX, minY, maxX, maxY) ->
+        areaMinX <= minX && maxX <= areaMaxX && areaMinY <= minY && maxY <= areaMaxY);
+  }
+
+  /**
+   * Find all items with boundaries covering a point.
+   *
+   * @param x The x-coordinate of the point
+   * @param y The y-coordinate of the point
+   * @return The items with the point inside their boundaries (including the edges)
+   */
+  public List<T> findAt(int x, int y) {
+    BoxFilter covers = (minX, minY, maxX, maxY) ->
+        minX <= x && x <= maxX && minY <= y && y <= maxY;
+    return search(covers, covers);
+  }
+
+  private static BoxFilter intersectionFilter(Rectangle area) {
+    int areaMinX = area.getTopLeft().getX();
+    int areaMinY = area.getTopLeft().getY();
+    int areaMaxX = area.getBottomRight().getX();
+    int areaMaxY = area.getBottomRight().getY();
+    return (minX, minY, maxX, maxY) ->
+        minX <= areaMaxX && areaMinX <= maxX && minY <= areaMaxY && areaMinY <= maxY;
+  }
+
+  /**
+   * Search the tree from the top.
+   *
+   * @param nodeFilter Accepts the nodes which may contain matching items
+   * @param itemFilter Accepts the matching items
+   * @return The matching items, in the index order
+   */
+  private List<T> search(BoxFilter nodeFilter, BoxFilter itemFilter) {
+    List<T> result = new ArrayList<>();
+    if (!items.isEmpty()) {
+      int topLevel = levels.size() - 1;
+      BoxFilter filter = topLevel == 0 ? itemFilter : nodeFilter;
+      if (matches(filter, levels.get(topLevel), 0)) {
+        searchNode(topLevel, 0, nodeFilter, itemFilter, result);
+      }
+    }
+    return result;
+  }
+
+  private void searchNode(int level, int index, BoxFilter nodeFilter, BoxFilter itemFilter,
+                          List<T> result) {
+    if (level == 0) {
+      result.add(items.get(index));
+      return;
+    }
+
+    int childLevel = level - 1;
+    int[] childBoxes = levels.get(childLevel);
+    BoxFilter childFilter = childLevel == 0 ? itemFilter : nodeFilter;
+    int lastChild = Math.min(getCount(childLevel), (index + 1) * NODE_CAPACITY);
+    for (int child = index * NODE_CAPACITY; child < lastChild; ++child) {
+      if (matches(childFilter, childBoxes, child)) {
+        searchNode(childLevel, child, nodeFilter, itemFilter, result);
+      }
+    }
+  }
+
+  private static boolean matches(BoxFilter filter, int[] boxes, int index) {
+    int offset = index * BOX_SIZE;
+    return filter.test(boxes[offset], boxes[offset + 1], boxes[offset + 2], boxes[offset + 3]);
+  }
+}
@@ -0,0 +1,78 @@
+package tools;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes parsed input data into a compact binary snapshot, and reads it back.
+ *
+ * @param <T> The type of the parsed data
+ */
+public interface SnapshotCodec<T> {
+  /**
+   * Codec for an array of long integers.
+   */
+  SnapshotCodec<long[]> LONG_ARRAY = new SnapshotCodec<>() {
+    @Override
+    public String getId() {
+      return "long-array";
+    }
+
+    @Override
+    public int getVersion() {
+      return 1;
+    }
+
+    @Override
+    public void write(long[] value, DataOutput out) throws IOException {
+      out.writeInt(value.length);
+      for (long v : value) {
+        out.writeLong(v);
+      }
+    }
+
+    @Override
+    public long[] read(DataInput in) throws IOException {
+      long[] value = new long[in.readInt()];
+      for (int i = 0; i < value.length; ++i) {
+        value[i] = in.readLong();
+      }
+      return value;
+    }
+  };
+
+  /**
+   * Get the identifier of the codec, stored in the snapshot header. A snapshot is read only
+   * by the codec which wrote it.
+   *
+   * @return The identifier, unique among all the codecs
+   */
+  String getId();
+
+  /**
+   * Get the version of the binary format. Increase it whenever the format changes: snapshots
+   * written in another version are ignored and the input is parsed again.
+   *
+   * @return The format version
+   */
+  int getVersion();
+
+  /**
+   * Write the value to the snapshot.
+   *
+   * @param value The value to write
+   * @param out   The output where the binary data is written
+   * @throws IOException When writing fails
+   */
+  void write(T value, DataOutput out) throws IOException;
+
+  /**
+   * Read the value from the snapshot.
+   *
+   * @param in The input where the binary data is read from
+   * @return The value, as it was before it was written
+   * @throws IOException When reading fails or the data is invalid
+   */
+  T read(DataInput in) throws IOException;
+}
@@ -1,15 +1,44 @@
 package tools;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 
 /**
- * A grid holding each row as a string of the sam length.
+ * A grid holding rows of characters of the same length. All the characters are stored in one
+ * mutable array, row after row: reading and replacing a single character takes constant time.
  */
 public class StringGrid {
-  private final List<String> rows = new ArrayList<>();
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private char[] cells;
+  private int rowCount = 0;
   private int columnCount = 0;
 
+  /**
+   * Create an empty grid, rows can be appended to it.
+   */
+  public StringGrid() {
+    cells = new char[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Create a grid of the given size, with all cells filled with the same character.
+   *
+   * @param rowCount    The number of rows in the grid
+   * @param columnCount The number of columns in the grid
+   * @param fill        The character stored in every cell
+   * @throws IllegalArgumentException When the size is negative
+   */
+  public StringGrid(int rowCount, int columnCount, char fill) throws IllegalArgumentException {
+    if (rowCount < 0 || columnCount < 0) {
+      throw new IllegalArgumentException("Invalid grid size: " + rowCount + "x" + columnCount);
+    }
+    cells = new char[rowCount * columnCount];
+    Arrays.fill(cells, fill);
+    this.rowCount = rowCount;
+    this.columnCount = columnCount;
+  }
+
   /**
    * Append a row to the grid.
    *
@@ -20,12 +49,17 @@ public class StringGrid {
   public void appendRow(String row) throws IllegalArgumentException {
     if (row == null || row.length() == 0) {
       throw new IllegalArgumentException("Can't add empty rows to grid");
-    } else if (!rows.isEmpty() && row.length() != columnCount) {
+    } else if (rowCount > 0 && row.length() != columnCount) {
       throw new IllegalArgumentException("Column count must be the same for all rows in the grid!");
     }
 
     columnCount = row.length();
-    rows.add(row);
+    int start = rowCount * columnCount;
+    if (start + columnCount > cells.length) {
+      cells = Arrays.copyOf(cells, Math.max(start + columnCount, cells.length * 2));
+    }
+    row.getChars(0, columnCount, cells, start);
+    rowCount++;
   }
 
   /**
@@ -34,7 +68,7 @@ public class StringGrid {
    * @return The number of rows. Zero when grid is empty.
    */
   public int getRowCount() {
-    return rows.size();
+    return rowCount;
   }
 
   /**
@@ -50,14 +84,25 @@ public class StringGrid {
    * Get the row at a specific index.
    *
    * @param rowIndex Index of the row to return. Indexing starts at zero.
-   * @return The row
+   * @return The row, as a copy of the current characters
    * @throws IllegalArgumentException if the provided rowIndex is invalid
    */
   public String getRow(int rowIndex) throws IllegalArgumentException {
-    if (rowIndex < 0 || rowIndex >= getRowCount()) {
-      throw new IllegalArgumentException("Row outside the grid: " + rowIndex);
-    }
-    return rows.get(rowIndex);
+    assertRowWithinBoundaries(rowIndex);
+    return new String(cells, rowIndex * columnCount, columnCount);
+  }
+
+  /**
+   * Get a view of the row at a specific index, without copying the characters. The view
+   * reflects later changes in the grid.
+   *
+   * @param rowIndex Index of the row to return. Indexing starts at zero.
+   * @return The row view
+   * @throws IllegalArgumentException if the provided rowIndex is invalid
+   */
+  public CharSequence getRowView(int rowIndex) throws IllegalArgumentException {
+    assertRowWithinBoundaries(rowIndex);
+    return CharBuffer.wrap(cells, rowIndex * columnCount, columnCount);
   }
 
   /**
@@ -70,10 +115,9 @@ public class StringGrid {
    */
   public void replaceCharacter(int rowIndex, int columnIndex, char c)
       throws IllegalArgumentException {
+    assertRowWithinBoundaries(rowIndex);
     assertColumnWithinBoundaries(columnIndex);
-
-    String row = getRow(rowIndex);
-    replaceRow(rowIndex, replaceCharAt(row, columnIndex, c));
+    cells[rowIndex * columnCount + columnIndex] = c;
   }
 
   private void assertColumnWithinBoundaries(int columnIndex) {
@@ -82,25 +126,39 @@ public class StringGrid {
     }
   }
 
-  private static String replaceCharAt(String s, int i, char c) {
-    return s.substring(0, i) + c + s.substring(i + 1);
-  }
-
   /**
    * Replace a row at the given place with a given string.
    *
    * @param rowIndex The index of the existing row to replace
    * @param row      The replacement row
-   * @throws IllegalArgumentException When the row is outside the current grid boundaries
+   * @throws IllegalArgumentException When the row is outside the current grid boundaries, or
+   *                                  the length of the replacement row differs from the
+   *                                  column count
    */
   public void replaceRow(int rowIndex, String row) throws IllegalArgumentException {
     assertRowWithinBoundaries(rowIndex);
-    rows.set(rowIndex, row);
+    if (row == null || row.length() != columnCount) {
+      throw new IllegalArgumentException("Column count must be the same for all rows in the grid!");
+    }
+    row.getChars(0, columnCount, cells, rowIndex * columnCount);
+  }
+
+  /**
+   * Fill a whole row with the same character.
+   *
+   * @param rowIndex The index of the existing row to fill
+   * @param c        The character to store in every cell of the row
+   * @throws IllegalArgumentException When the row is outside the current grid boundaries
+   */
+  public void fillRow(int rowIndex, char c) throws IllegalArgumentException {
+    assertRowWithinBoundaries(rowIndex);
+    int start = rowIndex * columnCount;
+    Arrays.fill(cells, start, start + columnCount, c);
   }
 
   private void assertRowWithinBoundaries(int rowIndex) {
     if (rowIndex < 0 || rowIndex >= getRowCount()) {
-      throw new IllegalArgumentException("Invalid row, outside the grid: " + rowIndex);
+      throw new IllegalArgumentException("Row outside the grid: " + rowIndex);
     }
   }
 
@@ -113,8 +171,17 @@ public class StringGrid {
    * @throws IllegalArgumentException When row index of column index out of bounds
    */
   public char getCharacter(int rowIndex, int columnIndex) throws IllegalArgumentException {
+    assertRowWithinBoundaries(rowIndex);
     assertColumnWithinBoundaries(columnIndex);
-    String row = getRow(rowIndex);
-    return row.charAt(columnIndex);
+    return cells[rowIndex * columnCount + columnIndex];
+  }
+
+  /**
+   * Get the array holding the cells, row after row. The array may be longer than the grid.
+   *
+   * @return The cell array, not a copy
+   */
+  char[] getCells() {
+    return cells;
   }
 }
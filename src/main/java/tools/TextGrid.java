@@ -0,0 +1,121 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * A grid of characters stored in one contiguous array, row after row. Each character is stored
+ * as one byte (ASCII / ISO-8859-1). All rows have the same length: the cell at (row, column)
+ * is at index row * columnCount + column.
+ */
+public class TextGrid {
+  private static final int MIN_CAPACITY = 1024;
+  private static final int MAX_GUESSED_CAPACITY = 1 << 26;
+  // Some virtual machines can't allocate arrays quite up to Integer.MAX_VALUE
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  private byte[] cells = new byte[0];
+  private int rowCount = 0;
+  private int columnCount = 0;
+
+  /**
+   * Append a row at the bottom of the grid.
+   *
+   * @param row The characters of the row
+   * @throws IllegalArgumentException When the row is empty, the number of characters in this
+   *                                  row differs from the column count of the previous rows, or
+   *                                  the grid would get too large to be stored in one array
+   */
+  public void appendRow(CharSequence row) throws IllegalArgumentException {
+    if (row == null || row.length() == 0) {
+      throw new IllegalArgumentException("Can't add empty rows to grid");
+    } else if (rowCount > 0 && row.length() != columnCount) {
+      throw new IllegalArgumentException("Column count must be the same for all rows in the grid!");
+    }
+
+    columnCount = row.length();
+    long end = (long) (rowCount + 1) * columnCount;
+    ensureCapacity(end);
+    int start = (int) (end - columnCount);
+    if (row instanceof ByteLineView) {
+      ((ByteLineView) row).copyTo(cells, start);
+    } else {
+      for (int i = 0; i < columnCount; ++i) {
+        cells[start + i] = (byte) row.charAt(i);
+      }
+    }
+    rowCount++;
+  }
+
+  private void ensureCapacity(long size) throws IllegalArgumentException {
+    if (size > MAX_CAPACITY) {
+      throw new IllegalArgumentException("Text grid too large: more than " + MAX_CAPACITY
+          + " cells");
+    }
+    if (size > cells.length) {
+      // Most grids are square: guess the size from the first row
+      long guess = rowCount == 0 ? Math.min(size * size, MAX_GUESSED_CAPACITY)
+          : 2L * cells.length;
+      long capacity = Math.min(Math.max(Math.max(size, guess), MIN_CAPACITY), MAX_CAPACITY);
+      cells = Arrays.copyOf(cells, (int) capacity);
+    }
+  }
+
+  /**
+   * Get the number of rows in the grid.
+   *
+   * @return The number of rows. Zero when grid is empty.
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Get the number of columns in the grid.
+   *
+   * @return The number of columns, zero when the grid is empty.
+   */
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /**
+   * Get character at a specific row and column.
+   *
+   * @param rowIndex    Index of the row
+   * @param columnIndex Index of the column
+   * @return The character at the specified row and column
+   * @throws IllegalArgumentException When row index of column index out of bounds
+   */
+  public char getCharacter(int rowIndex, int columnIndex) throws IllegalArgumentException {
+    if (rowIndex < 0 || rowIndex >= rowCount) {
+      throw new IllegalArgumentException("Row outside the grid: " + rowIndex);
+    }
+    if (columnIndex < 0 || columnIndex >= columnCount) {
+      throw new IllegalArgumentException("Column outside the grid: " + columnIndex);
+    }
+    return (char) (cells[rowIndex * columnCount + columnIndex] & 0xFF);
+  }
+
+  /**
+   * Get the array holding the cells, row after row. The array may be longer than the grid.
+   *
+   * @return The cell array, not a copy
+   */
+  byte[] getCells() {
+    return cells;
+  }
+
+  /**
+   * Take the array holding the cells, leaving this grid empty. Used by grids which convert
+   * the characters in place, instead of copying them.
+   *
+   * @return The cell array, see getCells()
+   */
+  byte[] takeCells() {
+    byte[] taken = cells;
+    cells = new byte[0];
+    rowCount = 0;
+    columnCount = 0;
+    return taken;
+  }
+}
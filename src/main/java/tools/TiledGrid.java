@@ -0,0 +1,120 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * An unbounded grid of byte values, for simulations where the world size is not known in
+ * advance. The grid is split into square tiles, a tile is allocated when a value is stored in
+ * it for the first time. Coordinates can be negative. All cells have value zero initially.
+ * The tiles are stored in an array, a primitive map from the packed tile coordinates to the
+ * array index finds them: looking up a tile does not allocate memory.
+ */
+public class TiledGrid {
+  private static final int TILE_BITS = 6;
+  private static final int TILE_SIZE = 1 << TILE_BITS;
+  private static final int TILE_MASK = TILE_SIZE - 1;
+  private static final int INITIAL_TILE_CAPACITY = 16;
+  private static final int NO_TILE = -1;
+
+  private final LongIntHashMap tileIndices = new LongIntHashMap();
+  private byte[][] tiles = new byte[INITIAL_TILE_CAPACITY][];
+  private int tileCount = 0;
+  private long populationCount = 0;
+
+  // The most recently used tile: neighbouring cells are usually accessed one after another
+  private long lastTileKey;
+  private byte[] lastTile;
+
+  /**
+   * Get the value of a cell.
+   *
+   * @param x The x-coordinate (column) of the cell
+   * @param y The y-coordinate (row) of the cell
+   * @return The cell value, zero for cells which have never been set
+   */
+  public byte getValueAt(int x, int y) {
+    byte[] tile = findTile(x, y);
+    return tile != null ? tile[getIndexInTile(x, y)] : 0;
+  }
+
+  /**
+   * Set the value of a cell.
+   *
+   * @param x     The x-coordinate (column) of the cell
+   * @param y     The y-coordinate (row) of the cell
+   * @param value The new value of the cell
+   * @return The previous value of the cell
+   */
+  public byte setValueAt(int x, int y, byte value) {
+    byte[] tile = findTile(x, y);
+    if (tile == null) {
+      if (value == 0) {
+        return 0;
+      }
+      tile = allocateTile(lastTileKey);
+      lastTile = tile;
+    }
+
+    int index = getIndexInTile(x, y);
+    byte previousValue = tile[index];
+    tile[index] = value;
+    if (previousValue == 0 && value != 0) {
+      populationCount++;
+    } else if (previousValue != 0 && value == 0) {
+      populationCount--;
+    }
+    return previousValue;
+  }
+
+  /**
+   * Get the number of cells with a non-zero value.
+   *
+   * @return The number of populated cells
+   */
+  public long getPopulationCount() {
+    return populationCount;
+  }
+
+  /**
+   * Get the number of allocated tiles.
+   *
+   * @return The number of tiles
+   */
+  public int getTileCount() {
+    return tileCount;
+  }
+
+  private byte[] allocateTile(long key) {
+    if (tileCount == tiles.length) {
+      tiles = Arrays.copyOf(tiles, tileCount * 2);
+    }
+    byte[] tile = new byte[TILE_SIZE * TILE_SIZE];
+    tiles[tileCount] = tile;
+    tileIndices.put(key, tileCount);
+    tileCount++;
+    return tile;
+  }
+
+  /**
+   * Find the tile containing the given cell. Remembers the key of the tile as the last used
+   * tile, even when the tile does not exist yet.
+   *
+   * @param x The x-coordinate of the cell
+   * @param y The y-coordinate of the cell
+   * @return The tile, null when it has not been allocated
+   */
+  private byte[] findTile(int x, int y) {
+    // Arithmetic shift rounds towards negative infinity, negative coordinates work as well
+    long key = PackedPosition.pack(x >> TILE_BITS, y >> TILE_BITS);
+    if (lastTile == null || key != lastTileKey) {
+      lastTileKey = key;
+      int tileIndex = tileIndices.getOrDefault(key, NO_TILE);
+      lastTile = tileIndex != NO_TILE ? tiles[tileIndex] : null;
+    }
+    return lastTile;
+  }
+
+  private static int getIndexInTile(int x, int y) {
+    return ((y & TILE_MASK) << TILE_BITS) | (x & TILE_MASK);
+  }
+}
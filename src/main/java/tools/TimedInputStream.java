@@ -0,0 +1,46 @@
+package tools;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream which measures the time spent inside the wrapped stream.
+ */
+class TimedInputStream extends FilterInputStream {
+  private long nanos;
+
+  /**
+   * Wrap a stream.
+   *
+   * @param in The stream to measure
+   */
+  TimedInputStream(InputStream in) {
+    super(in);
+  }
+
+  @Override
+  public int read() throws IOException {
+    long start = System.nanoTime();
+    int result = super.read();
+    nanos += System.nanoTime() - start;
+    return result;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    long start = System.nanoTime();
+    int result = super.read(buffer, offset, length);
+    nanos += System.nanoTime() - start;
+    return result;
+  }
+
+  /**
+   * Get the total time spent inside the wrapped stream.
+   *
+   * @return The time in nanoseconds
+   */
+  long getNanos() {
+    return nanos;
+  }
+}
@@ -1,13 +1,24 @@
 package tools;
 
-import java.util.Objects;
-
 /**
- * A two-dimensional position (vector).
+ * A two-dimensional position (vector). Vectors are immutable: all operations create a new
+ * vector (or return a shared instance), therefore vectors are safe to use as keys in hash sets.
  */
-public class Vector {
-  private int x;
-  private int y;
+public final class Vector {
+  // Shared instances of all the unit step vectors, indexed by (y + 1) * 3 + (x + 1)
+  private static final Vector[] UNIT_VECTORS = new Vector[9];
+
+  static {
+    for (int y = -1; y <= 1; ++y) {
+      for (int x = -1; x <= 1; ++x) {
+        UNIT_VECTORS[(y + 1) * 3 + (x + 1)] = new Vector(x, y);
+      }
+    }
+  }
+
+  private final int x;
+  private final int y;
+  private final int hash;
 
   /**
    * Create a new position.
@@ -18,6 +29,7 @@ public class Vector {
   public Vector(int x, int y) {
     this.x = x;
     this.y = y;
+    this.hash = PackedPosition.hash(PackedPosition.pack(x, y));
   }
 
   /**
@@ -67,12 +79,10 @@ public class Vector {
    * is not perpendicular to x-axis or y-axis!
    * The original vector (this vector) is kept intact
    *
-   * @return A scaled vector
+   * @return A scaled vector, a shared instance
    */
   public Vector scaleToOneUnit() {
-    int scaledX = x != 0 ? x / Math.abs(x) : 0;
-    int scaledY = y != 0 ? y / Math.abs(y) : 0;
-    return new Vector(scaledX, scaledY);
+    return UNIT_VECTORS[(Integer.signum(y) + 1) * 3 + (Integer.signum(x) + 1)];
   }
 
   /**
@@ -125,7 +135,7 @@ public class Vector {
 
   @Override
   public int hashCode() {
-    return Objects.hash(x, y);
+    return hash;
   }
 
   @Override
@@ -0,0 +1,49 @@
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import tools.BoundingBox;
+import tools.Rectangle;
+import tools.Vector;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for BoundingBox.
+ */
+class BoundingBoxTest {
+  @Test
+  void testAccumulation() {
+    BoundingBox box = new BoundingBox();
+    assertTrue(box.isEmpty());
+    assertThrows(IllegalStateException.class, box::toRectangle);
+
+    box.add(3, 4);
+    box.add(new Vector(-2, 7));
+    box.add(new Rectangle(0, -5, 1, 0));
+    Rectangle r = box.toRectangle();
+    assertEquals(new Vector(-2, -5), r.getTopLeft());
+    assertEquals(new Vector(3, 7), r.getBottomRight());
+  }
+
+  @Test
+  void testParallelCollector() {
+    List<Vector> points = IntStream.range(0, 100000)
+        .mapToObj(i -> new Vector(i % 1000 - 300, -(i / 1000)))
+        .collect(Collectors.toList());
+    Rectangle r = points.parallelStream().collect(BoundingBox.collector()).toRectangle();
+    assertEquals(new Vector(-300, -99), r.getTopLeft());
+    assertEquals(new Vector(699, 0), r.getBottomRight());
+  }
+
+  @Test
+  void testRectangleExtend() {
+    Rectangle r = new Rectangle(0, 0, 5, 5);
+    assertSame(r, r.extend(new Vector(3, 3)));
+    Rectangle extended = r.extend(new Vector(-1, 8));
+    assertEquals(new Vector(-1, 0), extended.getTopLeft());
+    assertEquals(new Vector(5, 8), extended.getBottomRight());
+  }
+}
@@ -0,0 +1,89 @@
+import java.util.Random;
+import java.util.function.Supplier;
+import tools.ByteGrid;
+import tools.ConvertedGrid;
+import tools.InputFile;
+import tools.IntegerGrid;
+import tools.StringGrid;
+import tools.TextGrid;
+
+/**
+ * Measures how fast digit grids are converted from text (rows per second). Not a unit test:
+ * run it manually. The only optional argument is the size of the generated square grid
+ * (4000 by default).
+ */
+public class GridConversionBenchmark {
+  private static final int DEFAULT_SIZE = 4000;
+  private static final int ROUND_COUNT = 10;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Optional: the number of rows and columns in the grid
+   */
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+    String text = createDigitText(size);
+    TextGrid textGrid = InputFile.fromString(text).readAllIntoTextGrid();
+    StringGrid stringGrid = InputFile.fromString(text).readAllIntoGridBuffer();
+
+    measure("IntegerGrid per cell, text grid", textGrid, PerCellIntegerGrid::new);
+    measure("IntegerGrid per cell, string grid", stringGrid, PerCellIntegerGrid::new);
+    measure("IntegerGrid by rows, text grid", textGrid, IntegerGrid::new);
+    measure("IntegerGrid by rows, string grid", stringGrid, IntegerGrid::new);
+    measure("ByteGrid by rows, text grid", textGrid, ByteGrid::new);
+    measure("ByteGrid by rows, string grid", stringGrid, ByteGrid::new);
+  }
+
+  private static String createDigitText(int size) {
+    Random random = new Random(1);
+    StringBuilder text = new StringBuilder(size * (size + 1));
+    for (int row = 0; row < size; ++row) {
+      for (int column = 0; column < size; ++column) {
+        text.append((char) ('0' + random.nextInt(10)));
+      }
+      text.append('\n');
+    }
+    return text.toString();
+  }
+
+  private static void measure(String name, TextGrid source, Supplier<ConvertedGrid> factory) {
+    measure(name, source.getRowCount(), source.getColumnCount(),
+        () -> factory.get().initializeFrom(source));
+  }
+
+  private static void measure(String name, StringGrid source, Supplier<ConvertedGrid> factory) {
+    measure(name, source.getRowCount(), source.getColumnCount(),
+        () -> factory.get().initializeFrom(source));
+  }
+
+  private static void measure(String name, int rowCount, int columnCount, Runnable conversion) {
+    double bestSeconds = Double.MAX_VALUE;
+    for (int round = 0; round < ROUND_COUNT; ++round) {
+      long start = System.nanoTime();
+      conversion.run();
+      bestSeconds = Math.min(bestSeconds, (System.nanoTime() - start) / 1e9);
+    }
+    System.out.printf("%-35s %8.3f s %,12.0f rows/s %,15.0f cells/s%n", name, bestSeconds,
+        rowCount / bestSeconds, (double) rowCount * columnCount / bestSeconds);
+  }
+
+  /**
+   * The conversion without the bulk row path: every cell is converted separately.
+   */
+  private static class PerCellIntegerGrid extends IntegerGrid {
+    @Override
+    protected void setRowFromChars(int row, char[] source, int offset, int length) {
+      for (int j = 0; j < length; ++j) {
+        setCellValueFromChar(row, j, source[offset + j]);
+      }
+    }
+
+    @Override
+    protected void setRowFromChars(int row, byte[] source, int offset, int length) {
+      for (int j = 0; j < length; ++j) {
+        setCellValueFromChar(row, j, (char) (source[offset + j] & 0xFF));
+      }
+    }
+  }
+}
@@ -0,0 +1,57 @@
+import org.junit.jupiter.api.Test;
+import tools.ByteGrid;
+import tools.InputFile;
+import tools.IntegerGrid;
+import tools.TextGrid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the grids converted from text.
+ */
+class GridTest {
+  @Test
+  void testByteGrid() {
+    ByteGrid grid = new ByteGrid();
+    grid.initializeFrom(InputFile.fromString("305\n255\n").readAllIntoTextGrid());
+    assertEquals(2, grid.getRowCount());
+    assertEquals(3, grid.getColumnCount());
+    assertEquals(3, grid.getValueAt(0, 0));
+    assertEquals(5, grid.getValueAt(1, 2));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> grid.getValueAt(0, 3));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> grid.getValueAt(2, 0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> grid.getValueAt(-1, 2));
+
+    assertThrows(IllegalArgumentException.class, () -> new ByteGrid().initializeFrom(
+        InputFile.fromString("12\n3a\n").readAllIntoTextGrid()));
+    // The byte grid takes over the array of the text grid
+    TextGrid textGrid = InputFile.fromString("12\n34\n").readAllIntoTextGrid();
+    ByteGrid adopted = new ByteGrid();
+    adopted.initializeFrom(textGrid);
+    assertEquals(0, textGrid.getRowCount());
+    assertEquals(4, adopted.getValueAt(1, 1));
+  }
+
+  @Test
+  void testIntegerGrid() {
+    String text = "1234567890\n0987654321\n";
+    IntegerGrid fromText = new IntegerGrid();
+    fromText.initializeFrom(InputFile.fromString(text).readAllIntoTextGrid());
+    IntegerGrid fromStrings = new IntegerGrid();
+    fromStrings.initializeFrom(InputFile.fromString(text).readAllIntoGridBuffer());
+    for (IntegerGrid grid : new IntegerGrid[]{fromText, fromStrings}) {
+      assertEquals(2, grid.getRowCount());
+      assertEquals(10, grid.getColumnCount());
+      assertEquals(1, grid.getValueAt(0, 0));
+      assertEquals(0, grid.getValueAt(0, 9));
+      assertEquals(9, grid.getValueAt(1, 1));
+    }
+
+    for (String invalid : new String[]{"12\n3/\n", "12\n:3\n", "12\n\u00e93\n"}) {
+      assertThrows(IllegalArgumentException.class, () -> new IntegerGrid().initializeFrom(
+          InputFile.fromString(invalid).readAllIntoTextGrid()));
+      assertThrows(IllegalArgumentException.class, () -> new IntegerGrid().initializeFrom(
+          InputFile.fromString(invalid).readAllIntoGridBuffer()));
+    }
+  }
+}
@@ -0,0 +1,75 @@
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import tools.ByteGrid;
+import tools.InputFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the parallel traversal of converted grids.
+ */
+class GridTraversalTest {
+  @Test
+  void testRowsAndColumns() {
+    ByteGrid grid = createGrid(300, 7);
+    assertEquals(300, grid.parallelRows(16).count());
+    assertEquals(7, grid.parallelColumns(1).count());
+    assertEquals(44850, grid.parallelRows(3).sum());
+    assertThrows(IllegalArgumentException.class, () -> grid.parallelRows(0));
+  }
+
+  @Test
+  void testDeterministicReduction() {
+    ByteGrid grid = createGrid(500, 11);
+    String expectedRows = createRowStrings(grid);
+    for (int chunkSize : new int[]{1, 7, 100, 1000}) {
+      String rows = grid.reduceRows("", row -> rowToString(grid, row) + ";", String::concat,
+          chunkSize);
+      assertEquals(expectedRows, rows);
+    }
+
+    String columnSums = grid.reduceColumns("", column -> sumColumn(grid, column) + ";",
+        String::concat, 2);
+    StringBuilder expectedColumnSums = new StringBuilder();
+    for (int column = 0; column < grid.getColumnCount(); ++column) {
+      expectedColumnSums.append(sumColumn(grid, column)).append(';');
+    }
+    assertEquals(expectedColumnSums.toString(), columnSums);
+  }
+
+  private static ByteGrid createGrid(int rowCount, int columnCount) {
+    StringBuilder text = new StringBuilder();
+    for (int row = 0; row < rowCount; ++row) {
+      for (int column = 0; column < columnCount; ++column) {
+        text.append((row * 31 + column * 17) % 10);
+      }
+      text.append('\n');
+    }
+    ByteGrid grid = new ByteGrid();
+    grid.initializeFrom(InputFile.fromString(text.toString()).readAllIntoTextGrid());
+    return grid;
+  }
+
+  private static String createRowStrings(ByteGrid grid) {
+    return IntStream.range(0, grid.getRowCount())
+        .mapToObj(row -> rowToString(grid, row) + ";")
+        .collect(Collectors.joining());
+  }
+
+  private static String rowToString(ByteGrid grid, int row) {
+    StringBuilder s = new StringBuilder();
+    for (int column = 0; column < grid.getColumnCount(); ++column) {
+      s.append(grid.getValueAt(row, column));
+    }
+    return s.toString();
+  }
+
+  private static int sumColumn(ByteGrid grid, int column) {
+    int sum = 0;
+    for (int row = 0; row < grid.getRowCount(); ++row) {
+      sum += grid.getValueAt(row, column);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,119 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import tools.InputFile;
+import tools.IntegerOrEmpty;
+import tools.ReadMode;
+
+/**
+ * Measures how fast numeric lines can be read from an input file (lines per second).
+ * Not a unit test: run it manually. The only optional argument is the number of lines
+ * in the generated file (100 million by default).
+ */
+public class InputFileBenchmark {
+  private static final long DEFAULT_LINE_COUNT = 100_000_000L;
+  private static final int GROUP_SIZE = 10;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Optional: the number of lines to generate
+   * @throws IOException When the temporary input file can't be written
+   */
+  public static void main(String[] args) throws IOException {
+    long lineCount = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_LINE_COUNT;
+    Path file = createNumberFile(lineCount);
+    try {
+      String filename = file.toString();
+      measure("readLineAsInteger, buffered", lineCount, () -> sumWithIntegerOrEmpty(
+          new InputFile(filename)));
+      measure("readLineAsLong, buffered", lineCount, () -> sumWithLong(
+          new InputFile(filename)));
+      measure("readLineAsLong, memory-mapped", lineCount, () -> sumWithLong(
+          new InputFile(filename, ReadMode.MEMORY_MAPPED)));
+      measure("readAllGroupSums, memory-mapped", lineCount, () -> sumGroups(
+          new InputFile(filename, ReadMode.MEMORY_MAPPED)));
+      measureCompressed(file, lineCount);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static void measureCompressed(Path file, long lineCount) throws IOException {
+    Path compressedFile = Files.createTempFile("benchmark", ".input.gz");
+    try {
+      try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressedFile))) {
+        Files.copy(file, out);
+      }
+      InputFile inputFile = new InputFile(compressedFile.toString());
+      long start = System.nanoTime();
+      measure("readLineAsLong, gzip", lineCount, () -> sumWithLong(inputFile));
+      long totalNanos = System.nanoTime() - start;
+      long decodeNanos = inputFile.getDecodeTimeNanos();
+      System.out.printf("  gzip decode %.2f s, line reading and parsing %.2f s%n",
+          decodeNanos / 1e9, (totalNanos - decodeNanos) / 1e9);
+    } finally {
+      Files.delete(compressedFile);
+    }
+  }
+
+  private static Path createNumberFile(long lineCount) throws IOException {
+    Path file = Files.createTempFile("benchmark", ".input");
+    try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+      for (long i = 0; i < lineCount; ++i) {
+        if (i % (GROUP_SIZE + 1) == GROUP_SIZE) {
+          writer.write("");
+        } else {
+          writer.write(Long.toString(1000 + i % 9000));
+        }
+        writer.newLine();
+      }
+    }
+    return file;
+  }
+
+  private static void measure(String name, long lineCount, Measurement measurement) {
+    long start = System.nanoTime();
+    long checksum = measurement.run();
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("%-35s %8.2f s %,15.0f lines/s (checksum %d)%n",
+        name, seconds, lineCount / seconds, checksum);
+  }
+
+  private static long sumWithIntegerOrEmpty(InputFile inputFile) {
+    long sum = 0;
+    while (!inputFile.isEndOfFile()) {
+      IntegerOrEmpty n = inputFile.readLineAsInteger();
+      if (n.isNumber()) {
+        sum += n.getValue();
+      }
+    }
+    return sum;
+  }
+
+  private static long sumWithLong(InputFile inputFile) {
+    long sum = 0;
+    while (!inputFile.isEndOfFile()) {
+      long n = inputFile.readLineAsLong();
+      if (n != InputFile.NO_NUMBER) {
+        sum += n;
+      }
+    }
+    return sum;
+  }
+
+  private static long sumGroups(InputFile inputFile) {
+    long sum = 0;
+    for (long groupSum : inputFile.readAllGroupSums()) {
+      sum += groupSum;
+    }
+    return sum;
+  }
+
+  private interface Measurement {
+    long run();
+  }
+}
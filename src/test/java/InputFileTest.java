@@ -0,0 +1,569 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.Compression;
+import tools.InputFile;
+import tools.IntegerOrEmpty;
+import tools.LineBlock;
+import tools.ReadMode;
+import tools.SnapshotCodec;
+import tools.TextGrid;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for InputFile.
+ */
+class InputFileTest {
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testMissingFile() {
+    assertFalse(new InputFile(tempDir.resolve("missing").toString()).exists());
+    assertFalse(new InputFile(tempDir.resolve("missing").toString(), ReadMode.MEMORY_MAPPED)
+        .exists());
+  }
+
+  @Test
+  void testClasspathResource() {
+    InputFile inputFile = new InputFile("problem01.input");
+    assertTrue(inputFile.exists());
+    assertTrue(inputFile.readLineAsInteger().isNumber());
+  }
+
+  @Test
+  void testLines() throws IOException {
+    String filename = createFile("abc\n\nde\r\nf");
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile inputFile = new InputFile(filename, mode);
+      assertTrue(inputFile.exists());
+      assertEquals("abc", inputFile.readLine());
+      assertEquals("", inputFile.readLine());
+      assertEquals("de", inputFile.readLineView().toString());
+      assertEquals("f", inputFile.readLine());
+      assertFalse(inputFile.isEndOfFile());
+      assertNull(inputFile.readLine());
+      assertTrue(inputFile.isEndOfFile());
+    }
+  }
+
+  @Test
+  void testIntegers() throws IOException {
+    String filename = createFile("12\n-3\n\n4000000000\n");
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile inputFile = new InputFile(filename, mode);
+      assertEquals(12L, inputFile.readLineAsInteger().getValue());
+      assertEquals(-3L, inputFile.readLineAsInteger().getValue());
+      assertFalse(inputFile.readLineAsInteger().isNumber());
+      assertEquals(4000000000L, inputFile.readLineAsInteger().getValue());
+      IntegerOrEmpty end = inputFile.readLineAsInteger();
+      assertFalse(end.isNumber());
+      assertTrue(inputFile.isEndOfFile());
+    }
+  }
+
+  @Test
+  void testPrimitiveIntegers() throws IOException {
+    String filename = createFile("12\n-3\n\n4000000000\n");
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile inputFile = new InputFile(filename, mode);
+      assertEquals(12L, inputFile.readLineAsLong());
+      assertEquals(-3L, inputFile.readLineAsLong());
+      assertEquals(InputFile.NO_NUMBER, inputFile.readLineAsLong());
+      assertFalse(inputFile.isEndOfFile());
+      assertEquals(4000000000L, inputFile.readLineAsLong());
+      assertEquals(InputFile.NO_NUMBER, inputFile.readLineAsLong());
+      assertTrue(inputFile.isEndOfFile());
+    }
+
+    filename = createFile(Long.MAX_VALUE + "\n" + Long.MIN_VALUE + "\n");
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile inputFile = new InputFile(filename, mode);
+      assertEquals(Long.MAX_VALUE, inputFile.readLineAsLong());
+      assertThrows(NumberFormatException.class, inputFile::readLineAsLong);
+    }
+  }
+
+  @Test
+  void testGroupSums() throws IOException {
+    String filename = createFile("1\n2\n\n3\n\n\n4\n5");
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile inputFile = new InputFile(filename, mode);
+      assertArrayEquals(new long[]{3, 3, 0, 9}, inputFile.readAllGroupSums());
+      assertTrue(inputFile.isEndOfFile());
+    }
+  }
+
+  @Test
+  void testBlocksAndCharacters() throws IOException {
+    String filename = createFile("a\nb\n\nxy");
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile inputFile = new InputFile(filename, mode);
+      assertEquals(List.of("a", "b"), inputFile.readLinesUntilEmptyLine());
+      assertEquals('x', inputFile.readOneChar());
+      assertEquals('y', inputFile.readOneChar());
+      assertNull(inputFile.readOneChar());
+    }
+  }
+
+  @Test
+  void testLineBlocks() throws IOException {
+    String filename = createFile("    [D]\n[N] [C]\n 1   2\n\nmove 1\n");
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile inputFile = new InputFile(filename, mode);
+      LineBlock block = inputFile.readBlockUntilEmptyLine();
+      assertEquals(3, block.getLineCount());
+      assertEquals("[N] [C]", block.getLine(1));
+      assertEquals(7, block.getLineLength(0));
+      assertEquals('D', block.charAt(0, 5));
+      assertEquals('2', block.charAt(2, 5));
+      assertThrows(IllegalArgumentException.class, () -> block.charAt(2, 6));
+      assertThrows(IllegalArgumentException.class, () -> block.getLine(3));
+
+      LineBlock commands = inputFile.readBlockUntilEmptyLine();
+      assertEquals(1, commands.getLineCount());
+      assertEquals("move 1", commands.getLine(0));
+      assertTrue(inputFile.readBlockUntilEmptyLine().isEmpty());
+      assertTrue(inputFile.isEndOfFile());
+    }
+  }
+
+  @Test
+  void testTextGrid() throws IOException {
+    String filename = createFile("abc\r\ndef\nghi\n");
+    for (ReadMode mode : ReadMode.values()) {
+      TextGrid grid = new InputFile(filename, mode).readAllIntoTextGrid();
+      assertEquals(3, grid.getRowCount());
+      assertEquals(3, grid.getColumnCount());
+      assertEquals('a', grid.getCharacter(0, 0));
+      assertEquals('f', grid.getCharacter(1, 2));
+      assertEquals('h', grid.getCharacter(2, 1));
+      assertThrows(IllegalArgumentException.class, () -> grid.getCharacter(3, 0));
+      assertThrows(IllegalArgumentException.class, () -> grid.getCharacter(0, 3));
+    }
+
+    InputFile unevenFile = InputFile.fromString("ab\nabc\n");
+    assertThrows(IllegalArgumentException.class, unevenFile::readAllIntoTextGrid);
+  }
+
+  @Test
+  void testBulkCharacters() throws IOException {
+    String filename = createFile("abcdefg\nh");
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile inputFile = new InputFile(filename, mode);
+      char[] buffer = new char[16];
+      StringBuilder content = new StringBuilder();
+      int n = inputFile.read(buffer, 1, 3);
+      while (n > 0) {
+        content.append(buffer, 1, n);
+        n = inputFile.read(buffer, 1, 3);
+      }
+      assertEquals("abcdefg\nh", content.toString());
+      assertTrue(inputFile.isEndOfFile());
+    }
+  }
+
+  @Test
+  void testParallelLines() throws IOException {
+    StringBuilder content = new StringBuilder();
+    List<String> expectedLines = new ArrayList<>();
+    for (int i = 0; i < 100000; ++i) {
+      String line = "line " + i;
+      expectedLines.add(line);
+      content.append(line).append('\n');
+    }
+    String filename = createFile(content.toString());
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile inputFile = new InputFile(filename, mode);
+      assertEquals(expectedLines.get(0), inputFile.readLine());
+      List<String> lines = inputFile.parallelLines().collect(Collectors.toList());
+      assertEquals(expectedLines.subList(1, expectedLines.size()), lines);
+      assertTrue(inputFile.isEndOfFile());
+    }
+  }
+
+  @Test
+  void testCompressedFiles() throws IOException {
+    String content = "first\n\n42\nlast";
+    Path gzipFile = Files.createTempFile(tempDir, "input", ".gz");
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzipFile))) {
+      out.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    Path zlibFile = Files.createTempFile(tempDir, "input", ".z");
+    try (OutputStream out = new DeflaterOutputStream(Files.newOutputStream(zlibFile))) {
+      out.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    checkCompressedFile(gzipFile, Compression.GZIP);
+    checkCompressedFile(zlibFile, Compression.ZLIB);
+    assertEquals(Compression.NONE, new InputFile(createFile(content)).getCompression());
+  }
+
+  @Test
+  void testTextLookingLikeZlibHeader() throws IOException {
+    String calories = "8012\n300\n\n50\n";
+    assertArrayEquals(new long[] {8312, 50},
+        new InputFile(createFile(calories)).readAllGroupSums());
+    assertArrayEquals(new long[] {8312, 50},
+        InputFile.fromBytes(calories.getBytes(StandardCharsets.UTF_8)).readAllGroupSums());
+
+    // All these pass the zlib header checksum, some even with a clear dictionary flag
+    for (String prefix : List.of("x y", "80", "x ", "H,", "HK", "(4", "XG")) {
+      String content = prefix + "\nsecond line\n";
+      byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+      for (InputFile inputFile : List.of(InputFile.fromBytes(bytes),
+          InputFile.fromStream(new ByteArrayInputStream(bytes)),
+          new InputFile(createFile(content)),
+          new InputFile(createFile(content), ReadMode.MEMORY_MAPPED))) {
+        assertEquals(Compression.NONE, inputFile.getCompression(), prefix);
+        assertEquals(prefix, inputFile.readLine());
+        assertEquals("second line", inputFile.readLine());
+      }
+    }
+  }
+
+  @Test
+  void testLargeZlibStream() throws IOException {
+    StringBuilder content = new StringBuilder();
+    Random random = new Random(6);
+    for (int i = 0; i < 50000; ++i) {
+      content.append(random.nextInt(1000000)).append('\n');
+    }
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (OutputStream out = new DeflaterOutputStream(compressed)) {
+      out.write(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    assertTrue(compressed.size() > 64 * 1024, "The stream must be longer than the sniffed part");
+
+    InputFile inputFile = InputFile.fromStream(new ByteArrayInputStream(compressed.toByteArray()));
+    assertEquals(Compression.ZLIB, inputFile.getCompression());
+    assertEquals(50000, inputFile.parallelLines().count());
+  }
+
+  private void checkCompressedFile(Path file, Compression expectedCompression) {
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile inputFile = new InputFile(file.toString(), mode);
+      assertEquals(expectedCompression, inputFile.getCompression());
+      assertEquals("first", inputFile.readLine());
+      assertEquals(InputFile.NO_NUMBER, inputFile.readLineAsLong());
+      assertEquals(42, inputFile.readLineAsLong());
+      assertEquals("last", inputFile.readLine());
+      assertNull(inputFile.readLine());
+      assertTrue(inputFile.getDecodeTimeNanos() > 0);
+    }
+  }
+
+  @Test
+  void testReadAhead() throws IOException {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 10000; ++i) {
+      content.append(i).append('\n');
+      if (i % 7 == 0) {
+        content.append('\n');
+      }
+    }
+    String filename = createFile(content.toString());
+    for (ReadMode mode : ReadMode.values()) {
+      InputFile expected = new InputFile(filename, mode);
+      InputFile inputFile = new InputFile(filename, mode);
+      inputFile.enableReadAhead();
+      assertArrayEquals(expected.readAllGroupSums(), inputFile.readAllGroupSums());
+      assertTrue(inputFile.isEndOfFile());
+      inputFile.close();
+    }
+
+    try (InputFile inputFile = new InputFile(createFile("ab\ncd\n"))) {
+      inputFile.enableReadAhead();
+      assertEquals('a', inputFile.readOneChar());
+      assertEquals("b", inputFile.readLine());
+      char[] buffer = new char[10];
+      assertEquals(3, inputFile.read(buffer, 0, buffer.length));
+      assertEquals("cd\n", new String(buffer, 0, 3));
+      assertEquals(-1, inputFile.read(buffer, 0, buffer.length));
+    }
+  }
+
+  @Test
+  void testReadAheadCharacters() throws IOException {
+    StringBuilder content = new StringBuilder();
+    content.append("x".repeat(100000)).append('\n');
+    for (int i = 0; i < 1000; ++i) {
+      content.append(i).append('\n');
+    }
+    String filename = createFile(content.toString());
+
+    try (InputFile inputFile = new InputFile(filename)) {
+      inputFile.enableReadAhead();
+      StringBuilder result = new StringBuilder();
+      char[] buffer = new char[7];
+      int n = inputFile.read(buffer, 0, buffer.length);
+      while (n >= 0) {
+        result.append(buffer, 0, n);
+        n = inputFile.read(buffer, 0, buffer.length);
+      }
+      assertEquals(content.toString(), result.toString());
+    }
+
+    try (InputFile inputFile = new InputFile(filename)) {
+      inputFile.enableReadAhead();
+      assertEquals(100000, inputFile.readLine().length());
+      char[] buffer = new char[100];
+      // Several short lines fit in one call
+      assertEquals(100, inputFile.read(buffer, 0, buffer.length));
+      assertTrue(new String(buffer).startsWith("0\n1\n2\n"));
+    }
+  }
+
+  @Test
+  void testSmallMapWindow() throws IOException {
+    StringBuilder content = new StringBuilder();
+    List<String> expectedLines = new ArrayList<>();
+    for (int i = 0; i < 200; ++i) {
+      String line = "#".repeat(i % 13) + (i % 10);
+      if (i % 9 == 0) {
+        line = "";
+      }
+      expectedLines.add(line);
+      content.append(line).append(i % 5 == 0 ? "\r\n" : "\n");
+    }
+    String filename = createFile(content.toString());
+    String longLineFilename = createFile("short\n" + "x".repeat(40) + "\nend\n");
+
+    System.setProperty(InputFile.MAP_WINDOW_PROPERTY, "16");
+    try {
+      try (InputFile inputFile = new InputFile(filename, ReadMode.MEMORY_MAPPED)) {
+        List<String> lines = new ArrayList<>();
+        String line = inputFile.readLine();
+        while (line != null) {
+          lines.add(line);
+          line = inputFile.readLine();
+        }
+        assertEquals(expectedLines, lines);
+      }
+
+      try (InputFile inputFile = new InputFile(filename, ReadMode.MEMORY_MAPPED)) {
+        assertEquals(expectedLines, inputFile.parallelLines().toList());
+      }
+
+      try (InputFile inputFile = new InputFile(filename, ReadMode.MEMORY_MAPPED)) {
+        StringBuilder result = new StringBuilder();
+        char[] buffer = new char[7];
+        int n = inputFile.read(buffer, 0, buffer.length);
+        while (n >= 0) {
+          result.append(buffer, 0, n);
+          n = inputFile.read(buffer, 0, buffer.length);
+        }
+        assertEquals(content.toString(), result.toString());
+      }
+
+      try (InputFile inputFile = new InputFile(longLineFilename, ReadMode.MEMORY_MAPPED)) {
+        assertEquals("short", inputFile.readLine());
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, inputFile::readLine);
+        assertEquals("Line longer than 16 bytes", e.getCause().getMessage());
+      }
+
+      try (InputFile inputFile = new InputFile(longLineFilename, ReadMode.MEMORY_MAPPED)) {
+        assertThrows(UncheckedIOException.class, () -> inputFile.parallelLines().toList());
+      }
+    } finally {
+      System.clearProperty(InputFile.MAP_WINDOW_PROPERTY);
+    }
+  }
+
+  @Test
+  void testReadErrors() throws IOException {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 10000; ++i) {
+      content.append("line ").append(i).append('\n');
+    }
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    byte[] truncated = Arrays.copyOf(compressed.toByteArray(), compressed.size() / 2);
+    Path file = Files.createTempFile(tempDir, "broken", ".gz");
+    Files.write(file, truncated);
+
+    for (boolean readAhead : new boolean[]{false, true}) {
+      InputFile inputFile = new InputFile(file.toString());
+      if (readAhead) {
+        inputFile.enableReadAhead();
+      }
+      assertEquals("line 0", inputFile.readLine());
+      assertThrows(UncheckedIOException.class, () -> {
+        while (inputFile.readLine() != null) {
+          assertFalse(inputFile.isEndOfFile());
+        }
+      });
+      assertTrue(inputFile.isEndOfFile());
+      inputFile.close();
+    }
+  }
+
+  @Test
+  void testSnapshot() throws IOException {
+    String filename = createFile("1\n2\n\n3\n");
+    AtomicInteger parseCount = new AtomicInteger();
+    Function<InputFile, long[]> parser = file -> {
+      parseCount.incrementAndGet();
+      return file.readAllGroupSums();
+    };
+
+    System.setProperty(InputFile.SNAPSHOT_PROPERTY, "true");
+    try {
+      long[] sums = new InputFile(filename).readWithSnapshot("sums", SnapshotCodec.LONG_ARRAY,
+          parser);
+      assertArrayEquals(new long[]{3, 3}, sums);
+      assertEquals(1, parseCount.get());
+
+      InputFile inputFile = new InputFile(filename);
+      sums = inputFile.readWithSnapshot("sums", SnapshotCodec.LONG_ARRAY, parser);
+      assertArrayEquals(new long[]{3, 3}, sums);
+      assertEquals(1, parseCount.get());
+      assertTrue(inputFile.isEndOfFile());
+      assertNull(inputFile.readLine());
+      inputFile.close();
+
+      Files.writeString(Path.of(filename), "5\n");
+      sums = new InputFile(filename).readWithSnapshot("sums", SnapshotCodec.LONG_ARRAY, parser);
+      assertArrayEquals(new long[]{5}, sums);
+      assertEquals(2, parseCount.get());
+    } finally {
+      System.clearProperty(InputFile.SNAPSHOT_PROPERTY);
+    }
+  }
+
+  @Test
+  void testSnapshotCodecMismatch() throws IOException {
+    String filename = createFile("1\n2\n\n3\n");
+    AtomicInteger parseCount = new AtomicInteger();
+    SnapshotCodec<long[]> newerCodec = createLongArrayCodec(SnapshotCodec.LONG_ARRAY.getId(),
+        SnapshotCodec.LONG_ARRAY.getVersion() + 1);
+    SnapshotCodec<long[]> otherCodec = createLongArrayCodec("line-counts", 1);
+
+    System.setProperty(InputFile.SNAPSHOT_PROPERTY, "true");
+    try {
+      new InputFile(filename).readWithSnapshot("sums", SnapshotCodec.LONG_ARRAY, file -> {
+        parseCount.incrementAndGet();
+        return file.readAllGroupSums();
+      });
+      assertEquals(1, parseCount.get());
+
+      // Same codec, another format version
+      long[] sums = new InputFile(filename).readWithSnapshot("sums", newerCodec, file -> {
+        parseCount.incrementAndGet();
+        return file.readAllGroupSums();
+      });
+      assertArrayEquals(new long[] {3, 3}, sums);
+      assertEquals(2, parseCount.get());
+
+      // Same snapshot name, another codec: the snapshot must not be decoded
+      long[] lineCounts = new InputFile(filename).readWithSnapshot("sums", otherCodec, file -> {
+        parseCount.incrementAndGet();
+        return new long[]{file.parallelLines().count()};
+      });
+      assertArrayEquals(new long[]{4}, lineCounts);
+      assertEquals(3, parseCount.get());
+    } finally {
+      System.clearProperty(InputFile.SNAPSHOT_PROPERTY);
+    }
+  }
+
+  /**
+   * Create a codec which stores long arrays the same way as LONG_ARRAY, but has another
+   * identity.
+   */
+  private static SnapshotCodec<long[]> createLongArrayCodec(String id, int version) {
+    return new SnapshotCodec<>() {
+      @Override
+      public String getId() {
+        return id;
+      }
+
+      @Override
+      public int getVersion() {
+        return version;
+      }
+
+      @Override
+      public void write(long[] value, DataOutput out) throws IOException {
+        SnapshotCodec.LONG_ARRAY.write(value, out);
+      }
+
+      @Override
+      public long[] read(DataInput in) throws IOException {
+        return SnapshotCodec.LONG_ARRAY.read(in);
+      }
+    };
+  }
+
+  @Test
+  void testMemorySources() throws IOException {
+    String content = "abc\n\n12\r\nxy";
+    byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(bytes);
+    }
+
+    List<InputFile> inputFiles = List.of(
+        InputFile.fromString(content),
+        InputFile.fromBytes(bytes),
+        InputFile.fromBytes(compressed.toByteArray()),
+        InputFile.fromStream(new ByteArrayInputStream(bytes)),
+        InputFile.fromStream(new ByteArrayInputStream(compressed.toByteArray())));
+    for (InputFile inputFile : inputFiles) {
+      assertTrue(inputFile.exists());
+      assertEquals("abc", inputFile.readLine());
+      assertEquals(InputFile.NO_NUMBER, inputFile.readLineAsLong());
+      assertEquals(12, inputFile.readLineAsLong());
+      assertEquals('x', inputFile.readOneChar());
+      assertEquals("y", inputFile.readLineView().toString());
+      assertNull(inputFile.readLine());
+      assertTrue(inputFile.isEndOfFile());
+    }
+    assertEquals(Compression.GZIP, inputFiles.get(2).getCompression());
+    assertArrayEquals(new long[]{5, 7},
+        InputFile.fromBytes("2\n3\n\n7".getBytes(StandardCharsets.UTF_8)).readAllGroupSums());
+  }
+
+  @Test
+  void testArguments() throws IOException {
+    String filename = createFile("from file");
+    assertEquals("from file", InputFile.fromArguments(new String[]{filename}, "missing")
+        .readLine());
+    assertEquals("from file", InputFile.fromArguments(new String[0], filename,
+        ReadMode.MEMORY_MAPPED).readLine());
+    assertFalse(InputFile.fromArguments(new String[0], tempDir.resolve("missing").toString())
+        .exists());
+  }
+
+  private String createFile(String content) throws IOException {
+    Path file = Files.createTempFile(tempDir, "input", ".txt");
+    Files.writeString(file, content);
+    return file.toString();
+  }
+}
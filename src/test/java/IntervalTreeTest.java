@@ -0,0 +1,70 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import tools.IntegerRange;
+import tools.IntervalTree;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for IntervalTree.
+ */
+class IntervalTreeTest {
+  @Test
+  void testQueries() {
+    IntervalTree tree = new IntervalTree();
+    assertTrue(tree.isEmpty());
+    tree.insert(new IntegerRange(1, 10));
+    tree.insert(new IntegerRange(5, 6));
+    tree.insert(new IntegerRange(12, 20));
+    tree.insert(new IntegerRange(5, 6));
+    assertEquals(4, tree.size());
+
+    assertEquals(List.of(new IntegerRange(1, 10), new IntegerRange(5, 6),
+        new IntegerRange(5, 6)), tree.findContaining(5));
+    assertEquals(List.of(new IntegerRange(1, 10)), tree.findContaining(10));
+    assertTrue(tree.findContaining(11).isEmpty());
+    assertEquals(List.of(new IntegerRange(1, 10), new IntegerRange(12, 20)),
+        tree.findOverlapping(new IntegerRange(8, 12)));
+    assertEquals(3, tree.countContaining(6));
+    assertEquals(0, tree.countOverlapping(new IntegerRange(21, 30)));
+
+    assertTrue(tree.delete(new IntegerRange(5, 6)));
+    assertEquals(2, tree.countContaining(6));
+    assertTrue(tree.delete(new IntegerRange(1, 10)));
+    assertFalse(tree.delete(new IntegerRange(1, 10)));
+    assertEquals(List.of(new IntegerRange(5, 6)), tree.findContaining(6));
+    assertEquals(2, tree.size());
+  }
+
+  @Test
+  void testAgainstLinearScan() {
+    Random random = new Random(24);
+    IntervalTree tree = new IntervalTree();
+    List<IntegerRange> ranges = new ArrayList<>();
+    for (int i = 0; i < 5000; ++i) {
+      if (!ranges.isEmpty() && random.nextInt(4) == 0) {
+        IntegerRange removed = ranges.remove(random.nextInt(ranges.size()));
+        assertTrue(tree.delete(removed));
+      } else {
+        int start = random.nextInt(10000);
+        IntegerRange range = new IntegerRange(start, start + random.nextInt(200));
+        ranges.add(range);
+        tree.insert(range);
+      }
+    }
+    assertEquals(ranges.size(), tree.size());
+
+    for (int i = 0; i < 500; ++i) {
+      int start = random.nextInt(10300) - 100;
+      IntegerRange query = new IntegerRange(start, start + random.nextInt(50));
+      long expected = ranges.stream().filter(r -> r.overlapsWith(query)).count();
+      assertEquals(expected, tree.countOverlapping(query));
+      assertEquals(expected, tree.findOverlapping(query).size());
+      long containing = ranges.stream().filter(r -> r.containsValue(start)).count();
+      assertEquals(containing, tree.countContaining(start));
+    }
+  }
+}
@@ -0,0 +1,130 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.LogLevel;
+import tools.Logger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for Logger.
+ */
+class LoggerTest {
+  private ByteArrayOutputStream captured;
+  private LogLevel originalLevel;
+
+  @BeforeEach
+  void captureOutput() {
+    originalLevel = Logger.getLevel();
+    captured = new ByteArrayOutputStream();
+    Logger.setOutput(new PrintStream(captured, true, StandardCharsets.UTF_8));
+  }
+
+  @AfterEach
+  void restoreOutput() {
+    Logger.setOutput(System.out);
+    Logger.setAsynchronous(true);
+    Logger.setLevel(originalLevel);
+  }
+
+  private List<String> getLines() {
+    Logger.flush();
+    String output = captured.toString(StandardCharsets.UTF_8);
+    return output.isEmpty() ? List.of() : List.of(output.split("\\R"));
+  }
+
+  @Test
+  void testLevels() {
+    for (boolean async : new boolean[] {false, true}) {
+      Logger.setAsynchronous(async);
+      captured.reset();
+      Logger.setLevel(LogLevel.INFO);
+      Logger.debug("hidden");
+      Logger.debug(() -> {
+        throw new AssertionError("The supplier must not be called when debug is disabled");
+      });
+      Logger.info("shown");
+      assertFalse(Logger.isDebugEnabled());
+
+      Logger.setLevel(LogLevel.DEBUG);
+      assertTrue(Logger.isDebugEnabled());
+      Logger.debug(() -> "debug " + 1);
+
+      Logger.setLevel(LogLevel.OFF);
+      Logger.info("hidden");
+      assertFalse(Logger.isEnabled(LogLevel.INFO));
+
+      assertEquals(List.of("shown", "debug 1"), getLines());
+    }
+  }
+
+  @Test
+  void testManyThreads() throws InterruptedException {
+    final int threadCount = 4;
+    final int messageCount = 20000;
+    Logger.setAsynchronous(true);
+    Logger.setLevel(LogLevel.INFO);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < threadCount; ++t) {
+      final int threadNumber = t;
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < messageCount; ++i) {
+          Logger.info(threadNumber + ":" + i);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    List<String> lines = getLines();
+    assertEquals(threadCount * messageCount, lines.size());
+    int[] nextExpected = new int[threadCount];
+    for (String line : lines) {
+      String[] parts = line.split(":");
+      int threadNumber = Integer.parseInt(parts[0]);
+      assertEquals(nextExpected[threadNumber], Integer.parseInt(parts[1]),
+          "Messages of one thread must stay in order");
+      nextExpected[threadNumber]++;
+    }
+  }
+
+  @Test
+  void testNoMessagesLostWhenSwitchingAppenders() throws InterruptedException {
+    final int threadCount = 4;
+    final int messageCount = 20000;
+    Logger.setAsynchronous(true);
+    Logger.setLevel(LogLevel.INFO);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < threadCount; ++t) {
+      final int threadNumber = t;
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < messageCount; ++i) {
+          Logger.info(threadNumber + ":" + i);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    // Each switch closes the previous appender while the threads keep logging
+    for (int i = 0; i < 50; ++i) {
+      Logger.setAsynchronous(true);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    List<String> lines = getLines();
+    assertEquals(threadCount * messageCount, lines.size());
+    assertEquals(threadCount * messageCount, new HashSet<>(lines).size());
+  }
+}
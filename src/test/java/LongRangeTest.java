@@ -0,0 +1,77 @@
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import tools.IntegerRange;
+import tools.LongRange;
+import tools.LongRangeBuffer;
+import tools.NonOverlappingRanges;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for LongRange and LongRangeBuffer.
+ */
+class LongRangeTest {
+  private static final long BIG = 5_000_000_000L;
+
+  @Test
+  void testRange() {
+    LongRange range = new LongRange(-BIG, BIG);
+    assertEquals(2 * BIG + 1, range.getLength());
+    assertTrue(range.containsValue(BIG));
+    assertFalse(range.containsValue(BIG + 1));
+    assertTrue(range.containsFully(new LongRange(0, BIG)));
+    assertFalse(range.containsFully(new LongRange(0, BIG + 1)));
+    assertTrue(range.overlapsWith(new LongRange(BIG, 2 * BIG)));
+    assertFalse(range.overlapsWith(new LongRange(BIG + 1, 2 * BIG)));
+    assertEquals(new LongRange(-BIG, 2 * BIG), range.mergeWith(new LongRange(0, 2 * BIG)));
+    assertThrows(IllegalArgumentException.class, () -> new LongRange(2, 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> range.mergeWith(new LongRange(BIG + 1, BIG + 2)));
+    assertThrows(ArithmeticException.class,
+        () -> new LongRange(Long.MIN_VALUE, Long.MAX_VALUE).getLength());
+  }
+
+  @Test
+  void testBuffer() {
+    LongRangeBuffer buffer = new LongRangeBuffer(1);
+    buffer.add(BIG, BIG + 10);
+    buffer.add(new LongRange(-3, 4));
+    buffer.add(BIG + 5, BIG + 20);
+    buffer.add(5, 6);
+    assertEquals(4, buffer.size());
+    assertEquals(new LongRange(-3, 4), buffer.getRange(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.getStart(4));
+
+    buffer.mergeOverlapping();
+    assertEquals(3, buffer.size());
+    assertEquals(new LongRange(-3, 4), buffer.getRange(0));
+    assertEquals(new LongRange(5, 6), buffer.getRange(1));
+    assertEquals(BIG, buffer.getStart(2));
+    assertEquals(BIG + 20, buffer.getEnd(2));
+    assertEquals(8 + 2 + 21, buffer.getTotalLength());
+
+    buffer.clear();
+    assertTrue(buffer.isEmpty());
+  }
+
+  @Test
+  void testMergingMatchesNonOverlappingRanges() {
+    Random random = new Random(23);
+    LongRangeBuffer buffer = new LongRangeBuffer();
+    NonOverlappingRanges expected = new NonOverlappingRanges();
+    for (int i = 0; i < 3000; ++i) {
+      int start = random.nextInt(20000);
+      int end = start + random.nextInt(30);
+      buffer.add(start, end);
+      expected.add(new IntegerRange(start, end));
+    }
+    buffer.mergeOverlapping();
+    assertEquals(expected.getRangeCount(), buffer.size());
+    for (int i = 0; i < buffer.size(); ++i) {
+      IntegerRange range = expected.getRange(i);
+      assertEquals(new LongRange(range.getStart(), range.getEnd()), buffer.getRange(i));
+    }
+  }
+}
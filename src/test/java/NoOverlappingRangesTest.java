@@ -1,7 +1,13 @@
+import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 import tools.IntegerRange;
 import tools.NonOverlappingRanges;
+import tools.RangeSweep;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class NoOverlappingRangesTest {
   @Test
@@ -104,4 +110,98 @@ public class NoOverlappingRangesTest {
     assertEquals(new IntegerRange(1, 5), ranges.getRange(0));
     assertEquals(new IntegerRange(7, 10), ranges.getRange(1));
   }
+
+  @Test
+  void testRangesAreCopies() {
+    NonOverlappingRanges ranges = createFourNonOverlappingRanges();
+    ranges.getRange(0).setEnd(20);
+    assertEquals(new IntegerRange(-2, 14), ranges.getRange(0));
+    assertTrue(ranges.containsRangeFully(new IntegerRange(0, 14)));
+    assertFalse(ranges.containsRangeFully(new IntegerRange(0, 15)));
+    assertTrue(ranges.containsValue(34));
+    assertFalse(ranges.containsValue(33));
+  }
+
+  @Test
+  void testManyRandomRanges() {
+    final int size = 2000;
+    Random random = new Random(15);
+    NonOverlappingRanges ranges = new NonOverlappingRanges();
+    boolean[] covered = new boolean[size];
+    for (int i = 0; i < 500; ++i) {
+      int start = random.nextInt(size);
+      int end = Math.min(size - 1, start + random.nextInt(10));
+      ranges.add(new IntegerRange(start, end));
+      for (int x = start; x <= end; ++x) {
+        covered[x] = true;
+      }
+    }
+
+    int previousEnd = Integer.MIN_VALUE;
+    for (int i = 0; i < ranges.getRangeCount(); ++i) {
+      IntegerRange range = ranges.getRange(i);
+      assertTrue(range.getStart() > previousEnd, "Ranges must be sorted and not overlap");
+      previousEnd = range.getEnd();
+    }
+    for (int x = 0; x < size; ++x) {
+      assertEquals(covered[x], ranges.containsValue(x), "Coverage of " + x);
+    }
+  }
+
+  @Test
+  void testGaps() {
+    NonOverlappingRanges ranges = createFourNonOverlappingRanges();
+    IntegerRange scanRange = new IntegerRange(0, 60);
+    assertEquals(15, ranges.findGapInRange(scanRange));
+    assertEquals(List.of(new IntegerRange(15, 17), new IntegerRange(25, 33),
+        new IntegerRange(41, 49)), ranges.findGapsInRange(scanRange));
+    assertEquals(3 + 9 + 9, ranges.getUncoveredLength(scanRange));
+
+    assertEquals(List.of(new IntegerRange(81, 90)),
+        ranges.findGapsInRange(new IntegerRange(70, 90)));
+    assertEquals(List.of(new IntegerRange(-5, -3)),
+        ranges.findGapsInRange(new IntegerRange(-5, 0)));
+    assertNull(ranges.findGapInRange(new IntegerRange(50, 80)));
+    assertTrue(ranges.findGapsInRange(new IntegerRange(50, 80)).isEmpty());
+    assertEquals(0, ranges.getUncoveredLength(new IntegerRange(50, 80)));
+  }
+
+  @Test
+  void testNoGapBetweenTouchingRanges() {
+    NonOverlappingRanges ranges = new NonOverlappingRanges();
+    ranges.add(new IntegerRange(0, 5));
+    ranges.add(new IntegerRange(6, 10));
+    ranges.add(new IntegerRange(11, 20));
+    ranges.add(new IntegerRange(22, Integer.MAX_VALUE));
+    assertEquals(4, ranges.getRangeCount());
+    assertEquals(21, ranges.findGapInRange(new IntegerRange(0, 30)));
+    assertNull(ranges.findGapInRange(new IntegerRange(0, 20)));
+    assertNull(ranges.findGapInRange(new IntegerRange(22, Integer.MAX_VALUE)));
+    assertEquals(List.of(new IntegerRange(21, 21)),
+        ranges.findGapsInRange(new IntegerRange(0, Integer.MAX_VALUE)));
+    assertEquals(1, ranges.getUncoveredLength(new IntegerRange(0, Integer.MAX_VALUE)));
+  }
+
+  @Test
+  void testSweepMatchesSingleAdds() {
+    Random random = new Random(22);
+    RangeSweep sweep = new RangeSweep();
+    NonOverlappingRanges swept = new NonOverlappingRanges();
+    for (int batch = 0; batch < 50; ++batch) {
+      NonOverlappingRanges added = new NonOverlappingRanges();
+      for (int i = 0; i < 40; ++i) {
+        int start = random.nextInt(400) - 200;
+        int end = start + random.nextInt(20);
+        sweep.add(start, end);
+        added.add(new IntegerRange(start, end));
+      }
+      assertEquals(40, sweep.getRangeCount());
+      sweep.mergeInto(swept);
+      assertEquals(0, sweep.getRangeCount());
+      assertEquals(added.getRangeCount(), swept.getRangeCount());
+      for (int i = 0; i < added.getRangeCount(); ++i) {
+        assertEquals(added.getRange(i), swept.getRange(i));
+      }
+    }
+  }
 }
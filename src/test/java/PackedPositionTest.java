@@ -0,0 +1,68 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import tools.LongIntHashMap;
+import tools.PackedPosition;
+import tools.Vector;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for PackedPosition and the primitive collections.
+ */
+class PackedPositionTest {
+  @Test
+  void testPacking() {
+    int[] values = {0, 1, -1, 12345, -98765, Integer.MAX_VALUE, Integer.MIN_VALUE};
+    for (int x : values) {
+      for (int y : values) {
+        long position = PackedPosition.pack(x, y);
+        assertEquals(x, PackedPosition.getX(position));
+        assertEquals(y, PackedPosition.getY(position));
+        assertEquals(new Vector(x, y), PackedPosition.toVector(position));
+        assertEquals(position, PackedPosition.fromVector(new Vector(x, y)));
+      }
+    }
+  }
+
+  @Test
+  void testArithmetic() {
+    long a = PackedPosition.pack(3, -4);
+    long b = PackedPosition.pack(-5, 2);
+    assertEquals(PackedPosition.pack(-2, -2), PackedPosition.plus(a, b));
+    assertEquals(PackedPosition.pack(8, -6), PackedPosition.minus(a, b));
+    assertEquals(PackedPosition.pack(4, -5), PackedPosition.plus(a, 1, -1));
+    assertEquals(PackedPosition.pack(-9, 12), PackedPosition.scale(a, -3));
+    assertEquals("(3,-4)", PackedPosition.toString(a));
+    assertNotEquals(PackedPosition.hash(PackedPosition.pack(0, 1)),
+        PackedPosition.hash(PackedPosition.pack(1, 0)));
+  }
+
+  @Test
+  void testLongIntHashMap() {
+    LongIntHashMap map = new LongIntHashMap();
+    Map<Long, Integer> expected = new HashMap<>();
+    Random random = new Random(11);
+    for (int i = 0; i < 10000; ++i) {
+      long key = random.nextInt(3000) * 1000003L;
+      map.put(key, i);
+      expected.put(key, i);
+    }
+    map.put(Long.MIN_VALUE, 42);
+    assertEquals(expected.size() + 1, map.size());
+    for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), map.getOrDefault(entry.getKey(), -1));
+      assertTrue(map.containsKey(entry.getKey()));
+    }
+    assertEquals(42, map.getOrDefault(Long.MIN_VALUE, -1));
+    assertEquals(-1, map.getOrDefault(7, -1));
+    assertFalse(map.containsKey(7));
+
+    map.clear();
+    assertEquals(0, map.size());
+    assertEquals(-1, map.getOrDefault(Long.MIN_VALUE, -1));
+  }
+}
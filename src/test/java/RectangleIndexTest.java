@@ -0,0 +1,84 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+import tools.Rectangle;
+import tools.RectangleIndex;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for Rectangle queries and RectangleIndex.
+ */
+class RectangleIndexTest {
+  @Test
+  void testRectangleQueries() {
+    Rectangle r = new Rectangle(0, 0, 10, 5);
+    assertTrue(r.intersects(new Rectangle(10, 5, 12, 7)));
+    assertFalse(r.intersects(new Rectangle(11, 0, 12, 5)));
+    assertTrue(r.contains(new Rectangle(0, 0, 10, 5)));
+    assertFalse(r.contains(new Rectangle(-1, 0, 3, 3)));
+    assertTrue(r.contains(10, 5));
+    assertFalse(r.contains(10, 6));
+  }
+
+  @Test
+  void testEmptyIndex() {
+    RectangleIndex<Rectangle> index = new RectangleIndex<>(List.of(), r -> r);
+    assertEquals(0, index.size());
+    assertNull(index.getBoundaries());
+    assertTrue(index.findAt(0, 0).isEmpty());
+  }
+
+  @Test
+  void testQueriesMatchLinearScan() {
+    Random random = new Random(3);
+    List<Rectangle> rectangles = new ArrayList<>();
+    for (int i = 0; i < 5000; ++i) {
+      int x = random.nextInt(2000) - 1000;
+      int y = random.nextInt(2000) - 1000;
+      rectangles.add(new Rectangle(x, y, x + random.nextInt(50), y + random.nextInt(50)));
+    }
+    RectangleIndex<Rectangle> index = new RectangleIndex<>(rectangles, r -> r);
+    assertEquals(5000, index.size());
+
+    Rectangle expectedBoundaries = rectangles.get(0);
+    for (Rectangle r : rectangles) {
+      expectedBoundaries = expectedBoundaries.extend(r);
+    }
+    assertEquals(expectedBoundaries.toString(), index.getBoundaries().toString());
+
+    for (int i = 0; i < 100; ++i) {
+      int x = random.nextInt(2200) - 1100;
+      int y = random.nextInt(2200) - 1100;
+      Rectangle area = new Rectangle(x, y, x + random.nextInt(300), y + random.nextInt(300));
+      assertSameItems(filter(rectangles, area::intersects), index.findIntersecting(area));
+      assertSameItems(filter(rectangles, area::contains), index.findContainedIn(area));
+      assertSameItems(filter(rectangles, r -> r.contains(x, y)), index.findAt(x, y));
+    }
+  }
+
+  private static List<Rectangle> filter(List<Rectangle> rectangles,
+                                        Predicate<Rectangle> predicate) {
+    List<Rectangle> result = new ArrayList<>();
+    for (Rectangle r : rectangles) {
+      if (predicate.test(r)) {
+        result.add(r);
+      }
+    }
+    return result;
+  }
+
+  private static void assertSameItems(List<Rectangle> expected, List<Rectangle> actual) {
+    assertEquals(expected.size(), actual.size());
+    Set<Rectangle> expectedSet = new HashSet<>(expected);
+    for (Rectangle r : actual) {
+      assertTrue(expectedSet.contains(r));
+    }
+  }
+}
@@ -0,0 +1,44 @@
+import org.junit.jupiter.api.Test;
+import tools.StringGrid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for StringGrid.
+ */
+class StringGridTest {
+  @Test
+  void testAppendAndReplace() {
+    StringGrid grid = new StringGrid();
+    grid.appendRow("abc");
+    grid.appendRow("def");
+    assertThrows(IllegalArgumentException.class, () -> grid.appendRow("gh"));
+    assertEquals(2, grid.getRowCount());
+    assertEquals(3, grid.getColumnCount());
+
+    CharSequence rowView = grid.getRowView(1);
+    grid.replaceCharacter(1, 1, 'x');
+    assertEquals('x', grid.getCharacter(1, 1));
+    assertEquals("dxf", grid.getRow(1));
+    assertEquals("dxf", rowView.toString());
+    assertEquals('d', rowView.charAt(0));
+    assertEquals("abc", grid.getRow(0));
+
+    grid.replaceRow(0, "zzz");
+    assertEquals("zzz", grid.getRow(0));
+    assertThrows(IllegalArgumentException.class, () -> grid.replaceRow(0, "zz"));
+    assertThrows(IllegalArgumentException.class, () -> grid.replaceCharacter(2, 0, 'x'));
+    assertThrows(IllegalArgumentException.class, () -> grid.getCharacter(0, 3));
+  }
+
+  @Test
+  void testFilledGrid() {
+    StringGrid grid = new StringGrid(3, 4, '.');
+    assertEquals("....", grid.getRow(2));
+    grid.fillRow(2, '#');
+    assertEquals("####", grid.getRow(2));
+    assertEquals("....", grid.getRow(1));
+    assertEquals('#', grid.getCharacter(2, 3));
+    assertThrows(IllegalArgumentException.class, () -> grid.fillRow(3, '#'));
+  }
+}
@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.Test;
+import tools.TiledGrid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for TiledGrid.
+ */
+class TiledGridTest {
+  @Test
+  void testValues() {
+    TiledGrid grid = new TiledGrid();
+    assertEquals(0, grid.getValueAt(0, 0));
+    assertEquals(0, grid.getValueAt(-1000000, 2000000));
+    assertEquals(0, grid.getTileCount());
+
+    assertEquals(0, grid.setValueAt(-1, -1, (byte) 5));
+    assertEquals(0, grid.setValueAt(0, 0, (byte) 7));
+    assertEquals(0, grid.setValueAt(63, 63, (byte) 8));
+    assertEquals(0, grid.setValueAt(Integer.MIN_VALUE, Integer.MAX_VALUE, (byte) 9));
+    assertEquals(5, grid.getValueAt(-1, -1));
+    assertEquals(7, grid.getValueAt(0, 0));
+    assertEquals(8, grid.getValueAt(63, 63));
+    assertEquals(9, grid.getValueAt(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    assertEquals(0, grid.getValueAt(-1, 0));
+    assertEquals(0, grid.getValueAt(0, -1));
+    assertEquals(0, grid.getValueAt(64, 0));
+    assertEquals(3, grid.getTileCount());
+  }
+
+  @Test
+  void testPopulationCount() {
+    TiledGrid grid = new TiledGrid();
+    for (int i = -100; i < 100; ++i) {
+      grid.setValueAt(i, i * 3, (byte) 1);
+    }
+    assertEquals(200, grid.getPopulationCount());
+
+    assertEquals(1, grid.setValueAt(5, 15, (byte) 2));
+    assertEquals(200, grid.getPopulationCount());
+    assertEquals(2, grid.setValueAt(5, 15, (byte) 0));
+    assertEquals(199, grid.getPopulationCount());
+    assertEquals(0, grid.setValueAt(5, 15, (byte) 0));
+    assertEquals(199, grid.getPopulationCount());
+
+    int tileCount = grid.getTileCount();
+    grid.setValueAt(1000, 1000, (byte) 0);
+    assertEquals(tileCount, grid.getTileCount());
+  }
+
+  @Test
+  void testManyTiles() {
+    TiledGrid grid = new TiledGrid();
+    for (int x = -20; x < 20; ++x) {
+      for (int y = -20; y < 20; ++y) {
+        grid.setValueAt(x * 100, y * 100, (byte) (x + y + 50));
+      }
+    }
+    assertEquals(1600, grid.getTileCount());
+    assertEquals(1600, grid.getPopulationCount());
+    for (int x = -20; x < 20; ++x) {
+      for (int y = -20; y < 20; ++y) {
+        assertEquals((byte) (x + y + 50), grid.getValueAt(x * 100, y * 100));
+        assertEquals(0, grid.getValueAt(x * 100 + 1, y * 100));
+      }
+    }
+  }
+}
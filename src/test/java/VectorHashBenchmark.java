@@ -0,0 +1,89 @@
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import tools.Vector;
+
+/**
+ * Measures HashSet insert and contains throughput with Vector keys, compared to a key with
+ * the previous Objects.hash-based hash code. Not a unit test: run it manually. The only
+ * optional argument is the size of the square area of positions (1000 by default).
+ */
+public class VectorHashBenchmark {
+  private static final int DEFAULT_SIZE = 1000;
+  private static final int ROUND_COUNT = 5;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Optional: the width and height of the area of positions
+   */
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+    for (int round = 0; round < ROUND_COUNT; ++round) {
+      System.out.println("Round " + (round + 1));
+      measure("Objects.hash key", size, ObjectsHashKey::new);
+      measure("Vector", size, Vector::new);
+    }
+  }
+
+  private static <T> void measure(String name, int size, KeyFactory<T> factory) {
+    long operationCount = (long) size * size;
+    Set<T> set = new HashSet<>();
+    long start = System.nanoTime();
+    for (int x = 0; x < size; ++x) {
+      for (int y = 0; y < size; ++y) {
+        set.add(factory.create(x, y));
+      }
+    }
+    double insertSeconds = (System.nanoTime() - start) / 1e9;
+
+    start = System.nanoTime();
+    int found = 0;
+    for (int x = 0; x < size; ++x) {
+      for (int y = 0; y < size; ++y) {
+        // Half of the lookups are misses
+        if (set.contains(factory.create(x + (y & 1) * size, y))) {
+          found++;
+        }
+      }
+    }
+    double containsSeconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf("  %-20s insert %,13.0f ops/s   contains %,13.0f ops/s (found %d)%n",
+        name, operationCount / insertSeconds, operationCount / containsSeconds, found);
+  }
+
+  private interface KeyFactory<T> {
+    T create(int x, int y);
+  }
+
+  /**
+   * A position with the hash code which Vector used before: Objects.hash(x, y).
+   */
+  private static class ObjectsHashKey {
+    private final int x;
+    private final int y;
+
+    ObjectsHashKey(int x, int y) {
+      this.x = x;
+      this.y = y;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ObjectsHashKey key = (ObjectsHashKey) o;
+      return x == key.x && y == key.y;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(x, y);
+    }
+  }
+}
@@ -1,3 +1,5 @@
+import java.util.HashSet;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import tools.Vector;
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,4 +42,25 @@ public class VectorTest {
     assertEquals(3, new Vector(3, -2).getAbsoluteX());
     assertEquals(2, new Vector(-3, 2).getAbsoluteY());
   }
+
+  @Test
+  public void testSharedUnitVectors() {
+    assertSame(new Vector(3, -5).scaleToOneUnit(), new Vector(1, -1).scaleToOneUnit());
+    assertSame(new Vector(0, 0).scaleToOneUnit(), new Vector(0, 0).scaleToOneUnit());
+  }
+
+  @Test
+  public void testHashing() {
+    assertEquals(new Vector(7, -3).hashCode(), new Vector(7, -3).hashCode());
+    assertNotEquals(new Vector(0, 1).hashCode(), new Vector(1, 0).hashCode());
+    Set<Vector> vectors = new HashSet<>();
+    for (int x = -50; x < 50; ++x) {
+      for (int y = -50; y < 50; ++y) {
+        vectors.add(new Vector(x, y));
+      }
+    }
+    assertEquals(10000, vectors.size());
+    assertTrue(vectors.contains(new Vector(-50, 49)));
+    assertFalse(vectors.contains(new Vector(50, 0)));
+  }
 }